@@ -0,0 +1,44 @@
+package org.birtutils.benchmark;
+
+import org.birtutils.BirtEngineManager;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform and engine startup. The first iteration of every fork is a cold start, the following ones restart the
+ * platform inside an already warm JVM.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+@Fork(3)
+public class EngineStartupBenchmark {
+
+    @Benchmark
+    public IReportEngine startUp() throws BirtException {
+        return BirtEngineManager.getInstance().getReportEngine();
+    }
+
+    @TearDown(Level.Iteration)
+    public void shutdown() {
+        BirtEngineManager.getInstance().shutdown();
+    }
+}
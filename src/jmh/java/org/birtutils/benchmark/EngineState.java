@@ -0,0 +1,41 @@
+package org.birtutils.benchmark;
+
+import org.birtutils.BirtEngineManager;
+import org.birtutils.BirtUtils;
+import org.birtutils.ReportDesignCache;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared engine and design cache of one benchmark fork.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@State(Scope.Benchmark)
+public class EngineState {
+
+    public static final String REPORT_PATH = "/example.rptdesign";
+
+    public final BirtUtils birtUtils = new BirtUtils();
+
+    public IReportEngine reportEngine;
+
+    public ReportDesignCache designCache;
+
+    @Setup(Level.Trial)
+    public void startUp() throws BirtException {
+        reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        designCache = new ReportDesignCache(reportEngine, birtUtils, 8);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        BirtEngineManager.getInstance().shutdown();
+    }
+}
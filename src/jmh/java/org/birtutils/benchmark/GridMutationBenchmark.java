@@ -0,0 +1,91 @@
+package org.birtutils.benchmark;
+
+import org.birtutils.BirtUtils;
+import org.birtutils.BulkEdit;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filling secondGrid of example.rptdesign with rows of three text cells, cell by cell through
+ * {@link BirtUtils#createCellWithTextToRow}, the same inside a {@link BirtUtils#bulkEdit} scope, and through
+ * {@link BirtUtils#appendRows}. Every iteration starts from a fresh
+ * copy of the design.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GridMutationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private List<List<String>> values;
+
+    private ReportDesignHandle designHandle;
+
+    private GridHandle grid;
+
+    @Setup(Level.Trial)
+    public void prepareValues() {
+        values = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            values.add(List.of("first " + i, "second " + i, "third " + i));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openDesign(EngineState state) throws BirtException {
+        designHandle = state.birtUtils.getReportDesignFromRunnable(state.designCache.openReportDesign(EngineState.REPORT_PATH));
+        grid = (GridHandle) state.birtUtils.getItemByName(designHandle, "secondGrid");
+    }
+
+    @Benchmark
+    public GridHandle createCellWithTextToRow(EngineState state) throws BirtException {
+        BirtUtils birtUtils = state.birtUtils;
+        for (List<String> row : values) {
+            RowHandle rowHandle = birtUtils.createNewRow(designHandle);
+            for (String value : row) {
+                birtUtils.createCellWithTextToRow(designHandle, rowHandle, value);
+            }
+            birtUtils.addRowToGrid(grid, rowHandle);
+        }
+        return grid;
+    }
+
+    @Benchmark
+    public GridHandle createCellWithTextToRowBulkEdit(EngineState state) throws BirtException {
+        try (BulkEdit ignored = state.birtUtils.bulkEdit(designHandle)) {
+            return createCellWithTextToRow(state);
+        }
+    }
+
+    @Benchmark
+    public GridHandle appendRows(EngineState state) throws BirtException {
+        state.birtUtils.appendRows(grid, values);
+        return grid;
+    }
+}
@@ -0,0 +1,37 @@
+package org.birtutils.benchmark;
+
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening example.rptdesign: parsing it from the classpath versus copying it out of the design cache.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenDesignBenchmark {
+
+    @Benchmark
+    public IReportRunnable parse(EngineState state) throws BirtException {
+        return state.reportEngine.openReportDesign(state.birtUtils.getReportFromClassPath(EngineState.REPORT_PATH));
+    }
+
+    @Benchmark
+    public IReportRunnable cachedCopy(EngineState state) throws BirtException {
+        return state.designCache.openReportDesign(EngineState.REPORT_PATH);
+    }
+}
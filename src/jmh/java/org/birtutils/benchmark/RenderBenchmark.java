@@ -0,0 +1,51 @@
+package org.birtutils.benchmark;
+
+import org.birtutils.BirtUtils;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IRunAndRenderTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code task.run()} of example.rptdesign for every output format, written into a discarding stream so only the
+ * engine and emitter cost is measured.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"PDF", "DOCX", "XLSX", "HTML", "ODT"})
+    public BirtUtils.OutputFormat format;
+
+    @Benchmark
+    public int run(EngineState state) throws BirtException {
+        IRunAndRenderTask task = state.reportEngine.createRunAndRenderTask(state.designCache.openReportDesign(EngineState.REPORT_PATH));
+        try {
+            task.setParameterValue("parametrFirst", "First parameter");
+            task.setParameterValue("parametrSecond", "Second parameter");
+            state.birtUtils.setUpOutPutFormat(task, format, OutputStream.nullOutputStream());
+            task.run();
+            return task.getStatus();
+        } finally {
+            task.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.birtutils.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Garbage collection and heap usage of this JVM during a measurement.
+ * <p>
+ * GC time is the collection time reported by the collector MXBeans. For collectors with concurrent phases it may
+ * include more than the stop-the-world pauses, so it is an upper bound of the pause time. Peak heap is sampled every
+ * 50 ms, so a short spike between two samples may be missed.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class JvmMonitor implements AutoCloseable {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-heap-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long startCollections;
+
+    private final long startCollectionMillis;
+
+    private volatile long peakHeapBytes;
+
+    public JvmMonitor() {
+        startCollections = collections();
+        startCollectionMillis = collectionMillis();
+        sampler.scheduleAtFixedRate(this::sample, 0, 50, TimeUnit.MILLISECONDS);
+    }
+
+    public long getGcCount() {
+        return collections() - startCollections;
+    }
+
+    public long getGcMillis() {
+        return collectionMillis() - startCollectionMillis;
+    }
+
+    public long getPeakHeapBytes() {
+        sample();
+        return peakHeapBytes;
+    }
+
+    public long getMaxHeapBytes() {
+        return memory.getHeapMemoryUsage().getMax();
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    private synchronized void sample() {
+        peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+    }
+
+    private static long collections() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long collectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
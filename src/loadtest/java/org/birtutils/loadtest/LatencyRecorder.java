@@ -0,0 +1,70 @@
+package org.birtutils.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples of one kind of request, e.g. one output format. Thread safe.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+
+    private int count;
+
+    private long failures;
+
+    /**
+     * @param nanos The latency of a finished request.
+     * @param succeeded Whether the request succeeded, failed requests count as failures and are not sampled.
+     */
+    public synchronized void record(long nanos, boolean succeeded) {
+        if (!succeeded) {
+            failures++;
+            return;
+        }
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    /**
+     * @return The percentiles of the samples recorded so far.
+     */
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        double total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        return new Snapshot(count, failures, percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                count > 0 ? sorted[count - 1] / 1e6 : 0, count > 0 ? total / count / 1e6 : 0);
+    }
+
+    /**
+     * Adds the samples of this recorder to another one, e.g. to merge the formats into a total.
+     */
+    public synchronized void copyTo(LatencyRecorder target) {
+        for (int i = 0; i < count; i++) {
+            target.record(samples[i], true);
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Latencies in milliseconds.
+     */
+    public record Snapshot(long succeeded, long failed, double p50, double p95, double p99, double max, double mean) {
+    }
+}
@@ -0,0 +1,334 @@
+package org.birtutils.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.birtutils.AsyncRenderer;
+import org.birtutils.BirtEngineManager;
+import org.birtutils.BirtUtils;
+import org.birtutils.RenderJob;
+import org.birtutils.RenderMetrics;
+import org.birtutils.RenderResult;
+import org.birtutils.ReportDesignCache;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a render workload against an in-process engine at saturation and reports latency percentiles, throughput,
+ * GC time and peak heap, on the console and as JSON.
+ * <p>
+ * With {@code --concurrency N} alone the test is a closed loop: N clients render one job after another. With
+ * {@code --rate R} it is an open loop: jobs arrive R times per second whether earlier ones finished or not, rendered by
+ * at most N threads, and the latency counts from the planned arrival, so queueing at saturation is not hidden.
+ * <pre>
+ * mvn -Ploadtest compile exec:exec -Dloadtest.args="--concurrency 8 --duration 60 --formats PDF=1,HTML=3 --rows 0,1000"
+ * mvn -Ploadtest compile exec:exec -Dloadtest.args="--manifest recorded.jsonl --rate 20 --max-p99 2000"
+ * </pre>
+ * Options: {@code --manifest PATH} or {@code --synthetic SIZE} (default 100), {@code --formats}, {@code --rows},
+ * {@code --seed}, {@code --concurrency} (default: cores), {@code --rate}, {@code --warmup SECONDS} (default 10),
+ * {@code --duration SECONDS} (default 60), {@code --out PATH} (default target/loadtest-result.json), and the gates
+ * {@code --max-p99 MILLIS}, {@code --min-throughput PER_SECOND} and {@code --max-error-rate RATIO} (default 0, so any
+ * failed request fails the run), which make the process exit with 1 when missed. The latency and throughput gates
+ * only count succeeded requests, a run in which nothing succeeded always fails.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class LoadTest {
+
+    private final AsyncRenderer renderer;
+
+    private final Workload workload;
+
+    private final int concurrency;
+
+    private final double rate;
+
+    private final ExecutorService executor;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile Map<String, LatencyRecorder> recorders;
+
+    public LoadTest(IReportEngine reportEngine, ReportDesignCache designCache, Workload workload, int concurrency, double rate) {
+        this.workload = workload;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        // a closed loop renders on its client threads, an open loop on a pool of at most concurrency threads
+        this.executor = rate > 0 ? Executors.newFixedThreadPool(concurrency) : null;
+        this.renderer = new AsyncRenderer(reportEngine, designCache, executor != null ? executor : Runnable::run, RenderMetrics.NOOP);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "10"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest-result.json"));
+
+        Workload workload = options.containsKey("manifest")
+                ? Workload.fromManifest(Path.of(options.get("manifest")))
+                : Workload.synthetic(Integer.parseInt(options.getOrDefault("synthetic", "100")),
+                formats(options.getOrDefault("formats", "PDF=1,DOCX=1,XLSX=1,HTML=1")),
+                Arrays.stream(options.getOrDefault("rows", "0,100").split(",")).mapToInt(Integer::parseInt).toArray(),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        LoadTest loadTest = new LoadTest(reportEngine, new ReportDesignCache(reportEngine, new BirtUtils(), 64), workload, concurrency, rate);
+        Report report;
+        try {
+            log.info("Warming up for {} s", warmupSeconds);
+            loadTest.run(TimeUnit.SECONDS.toNanos(warmupSeconds));
+            log.info("Measuring for {} s", durationSeconds);
+            report = loadTest.measure(TimeUnit.SECONDS.toNanos(durationSeconds));
+        } finally {
+            loadTest.close();
+        }
+
+        report.print();
+        if (out.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(out.toAbsolutePath().getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            writer.write(report.toJson(options, workload.size(), concurrency, rate));
+        }
+        System.out.println("Results written to " + out.toAbsolutePath());
+
+        List<String> violations = new ArrayList<>();
+        Report.Total total = report.total();
+        long requests = total.latency().succeeded() + total.failed();
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0"));
+        if (requests == 0 || total.latency().succeeded() == 0) {
+            violations.add(String.format(Locale.ROOT, "none of %d requests succeeded", requests));
+        } else if ((double) total.failed() / requests > maxErrorRate) {
+            violations.add(String.format(Locale.ROOT, "%d of %d requests failed, the error rate %.4f exceeds %s",
+                    total.failed(), requests, (double) total.failed() / requests, maxErrorRate));
+        }
+        if (options.containsKey("max-p99") && total.latency().p99() > Double.parseDouble(options.get("max-p99"))) {
+            violations.add(String.format(Locale.ROOT, "p99 %.1f ms exceeds %s ms", total.latency().p99(), options.get("max-p99")));
+        }
+        if (options.containsKey("min-throughput") && total.throughput() < Double.parseDouble(options.get("min-throughput"))) {
+            violations.add(String.format(Locale.ROOT, "throughput %.2f/s is below %s/s", total.throughput(), options.get("min-throughput")));
+        }
+        BirtEngineManager.getInstance().shutdown();
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.out.println("FAILED: " + violation));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs the workload for a while and measures it.
+     *
+     * @param durationNanos The length of the measurement.
+     * @return The measured report.
+     * @throws InterruptedException if interrupted while running.
+     */
+    public Report measure(long durationNanos) throws InterruptedException {
+        recorders = new ConcurrentHashMap<>();
+        try (JvmMonitor monitor = new JvmMonitor()) {
+            long start = System.nanoTime();
+            run(durationNanos);
+            long elapsed = System.nanoTime() - start;
+            Map<String, LatencyRecorder> measured = recorders;
+            recorders = null;
+            return new Report(measured, elapsed, monitor.getGcCount(), monitor.getGcMillis(), monitor.getPeakHeapBytes(), monitor.getMaxHeapBytes());
+        }
+    }
+
+    /**
+     * Runs the workload for a while, recording latencies only during {@link #measure}.
+     *
+     * @param durationNanos The length of the run.
+     * @throws InterruptedException if interrupted while running.
+     */
+    public void run(long durationNanos) throws InterruptedException {
+        long end = System.nanoTime() + durationNanos;
+        if (rate > 0) {
+            runOpenLoop(end);
+        } else {
+            runClosedLoop(end);
+        }
+    }
+
+    public void close() {
+        renderer.close();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runClosedLoop(long end) throws InterruptedException {
+        List<Thread> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread client = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    RenderJob job = workload.job(sequence.getAndIncrement());
+                    long start = System.nanoTime();
+                    RenderResult result = renderer.renderAsync(job).join();
+                    record(job, System.nanoTime() - start, result);
+                }
+            }, "loadtest-client-" + i);
+            client.start();
+            clients.add(client);
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+    }
+
+    private void runOpenLoop(long end) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        Phaser outstanding = new Phaser(1);
+        long arrival = System.nanoTime();
+        while (arrival < end) {
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            RenderJob job = workload.job(sequence.getAndIncrement());
+            long plannedStart = arrival;
+            outstanding.register();
+            renderer.renderAsync(job).whenComplete((result, error) -> {
+                record(job, System.nanoTime() - plannedStart, result);
+                outstanding.arriveAndDeregister();
+            });
+            arrival += interval;
+        }
+        // requests queued at saturation still count, the run ends when they finished
+        outstanding.arriveAndAwaitAdvance();
+    }
+
+    private void record(RenderJob job, long nanos, RenderResult result) {
+        Map<String, LatencyRecorder> current = recorders;
+        if (current != null) {
+            current.computeIfAbsent(job.format().name(), format -> new LatencyRecorder())
+                    .record(nanos, result != null && result.isSucceeded());
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static Map<BirtUtils.OutputFormat, Integer> formats(String mix) {
+        Map<BirtUtils.OutputFormat, Integer> formats = new EnumMap<>(BirtUtils.OutputFormat.class);
+        for (String part : mix.split(",")) {
+            String[] formatAndWeight = part.split("=");
+            formats.put(BirtUtils.OutputFormat.valueOf(formatAndWeight[0].trim().toUpperCase(Locale.ROOT)),
+                    formatAndWeight.length > 1 ? Integer.parseInt(formatAndWeight[1].trim()) : 1);
+        }
+        return formats;
+    }
+
+    /**
+     * Results of one measurement.
+     */
+    public record Report(Map<String, LatencyRecorder> recorders, long elapsedNanos, long gcCount, long gcMillis,
+                         long peakHeapBytes, long maxHeapBytes) {
+
+        /**
+         * @return The latencies of all formats together and the overall throughput.
+         */
+        public Total total() {
+            LatencyRecorder all = new LatencyRecorder();
+            long failed = 0;
+            for (LatencyRecorder recorder : recorders.values()) {
+                LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+                failed += snapshot.failed();
+                recorder.copyTo(all);
+            }
+            LatencyRecorder.Snapshot snapshot = all.snapshot();
+            return new Total(snapshot, failed, snapshot.succeeded() / (elapsedNanos / 1e9));
+        }
+
+        void print() {
+            Total total = total();
+            System.out.printf(Locale.ROOT, "%-8s %8s %8s %10s %10s %10s %10s %10s%n", "format", "ok", "failed", "p50 ms", "p95 ms", "p99 ms", "max ms", "per s");
+            recorders.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                LatencyRecorder.Snapshot snapshot = entry.getValue().snapshot();
+                printLine(entry.getKey(), snapshot, snapshot.failed(), snapshot.succeeded() / (elapsedNanos / 1e9));
+            });
+            printLine("total", total.latency(), total.failed(), total.throughput());
+            System.out.printf(Locale.ROOT, "GC: %d collections, %d ms (%.1f%% of %.1f s), peak heap %d MB of %d MB%n",
+                    gcCount, gcMillis, gcMillis * 100.0 / (elapsedNanos / 1e6), elapsedNanos / 1e9,
+                    peakHeapBytes / 1024 / 1024, maxHeapBytes / 1024 / 1024);
+        }
+
+        String toJson(Map<String, String> options, int corpusSize, int concurrency, double rate) {
+            Total total = total();
+            StringBuilder json = new StringBuilder("{\n");
+            json.append("  \"options\": {");
+            String separator = "";
+            for (Map.Entry<String, String> option : options.entrySet()) {
+                json.append(separator).append('"').append(escape(option.getKey())).append("\": \"").append(escape(option.getValue())).append('"');
+                separator = ", ";
+            }
+            json.append("},\n");
+            json.append(String.format(Locale.ROOT, "  \"mode\": \"%s\",%n  \"corpusSize\": %d,%n  \"concurrency\": %d,%n  \"ratePerSecond\": %s,%n",
+                    rate > 0 ? "open" : "closed", corpusSize, concurrency, rate));
+            json.append(String.format(Locale.ROOT, "  \"durationSeconds\": %.3f,%n", elapsedNanos / 1e9));
+            json.append(String.format(Locale.ROOT, "  \"throughputPerSecond\": %.3f,%n", total.throughput()));
+            json.append("  \"latencyMillis\": ").append(latencyJson(total.latency(), total.failed())).append(",\n");
+            json.append("  \"formats\": {");
+            separator = "\n";
+            for (Map.Entry<String, LatencyRecorder> entry : new TreeMap<>(recorders).entrySet()) {
+                LatencyRecorder.Snapshot snapshot = entry.getValue().snapshot();
+                json.append(separator).append("    \"").append(entry.getKey()).append("\": ").append(latencyJson(snapshot, snapshot.failed()));
+                separator = ",\n";
+            }
+            json.append("\n  },\n");
+            json.append(String.format(Locale.ROOT, "  \"gc\": {\"collections\": %d, \"timeMillis\": %d},%n", gcCount, gcMillis));
+            json.append(String.format(Locale.ROOT, "  \"heap\": {\"peakBytes\": %d, \"maxBytes\": %d}%n", peakHeapBytes, maxHeapBytes));
+            return json.append("}\n").toString();
+        }
+
+        private void printLine(String name, LatencyRecorder.Snapshot snapshot, long failed, double throughput) {
+            System.out.printf(Locale.ROOT, "%-8s %8d %8d %10.1f %10.1f %10.1f %10.1f %10.2f%n",
+                    name, snapshot.succeeded(), failed, snapshot.p50(), snapshot.p95(), snapshot.p99(), snapshot.max(), throughput);
+        }
+
+        private static String latencyJson(LatencyRecorder.Snapshot snapshot, long failed) {
+            return String.format(Locale.ROOT,
+                    "{\"succeeded\": %d, \"failed\": %d, \"p50\": %.3f, \"p95\": %.3f, \"p99\": %.3f, \"max\": %.3f, \"mean\": %.3f}",
+                    snapshot.succeeded(), failed, snapshot.p50(), snapshot.p95(), snapshot.p99(), snapshot.max(), snapshot.mean());
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"");
+        }
+
+        /**
+         * @param latency    The latencies of all formats together.
+         * @param failed     The number of failed requests.
+         * @param throughput The succeeded requests per second.
+         */
+        public record Total(LatencyRecorder.Snapshot latency, long failed, double throughput) {
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.birtutils.loadtest;
+
+import org.birtutils.BirtUtils;
+import org.birtutils.DesignIndex;
+import org.birtutils.Manifest;
+import org.birtutils.RenderJob;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Corpus of render jobs replayed by the {@link LoadTest}, either recorded in a JSONL manifest, see {@link Manifest}, or
+ * synthesized from a format mix and grid sizes. Jobs render into memory, the outputs of a recorded manifest are
+ * ignored.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class Workload {
+
+    private final List<RenderJob> jobs;
+
+    private Workload(List<RenderJob> jobs) {
+        if (jobs.isEmpty()) {
+            throw new IllegalArgumentException("The workload has no jobs");
+        }
+        this.jobs = jobs;
+    }
+
+    /**
+     * Reads a recorded manifest, every line is one job of the corpus.
+     *
+     * @param manifest The Path of the JSONL manifest.
+     * @return The workload replaying the manifest in order.
+     * @throws IOException if the manifest could not be read.
+     */
+    public static Workload fromManifest(Path manifest) throws IOException {
+        List<RenderJob> jobs = new ArrayList<>();
+        Path baseDirectory = manifest.toAbsolutePath().getParent();
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    RenderJob job = Manifest.parseJob(line, baseDirectory);
+                    jobs.add(new RenderJob(job.reportPath(), job.parameters(), job.format(), null, job.designMutation()));
+                }
+            }
+        }
+        return new Workload(jobs);
+    }
+
+    /**
+     * Synthesizes a corpus of example.rptdesign renders.
+     *
+     * @param size     The number of jobs in the corpus.
+     * @param formats  The format mix, each format with its relative weight.
+     * @param gridRows The numbers of rows appended to secondGrid, picked uniformly per job.
+     * @param seed     The seed of the random picks, the same seed gives the same corpus.
+     * @return The synthetic workload.
+     */
+    public static Workload synthetic(int size, Map<BirtUtils.OutputFormat, Integer> formats, int[] gridRows, long seed) {
+        List<BirtUtils.OutputFormat> weighted = new ArrayList<>();
+        formats.forEach((format, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(format);
+            }
+        });
+        Random random = new Random(seed);
+        List<RenderJob> jobs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BirtUtils.OutputFormat format = weighted.get(random.nextInt(weighted.size()));
+            int rows = gridRows[random.nextInt(gridRows.length)];
+            Map<String, String> parameters = Map.of("parametrFirst", "First parameter " + i, "parametrSecond", "Second parameter");
+            jobs.add(new RenderJob("/example.rptdesign", parameters, format, null, appendRows(rows)));
+        }
+        return new Workload(jobs);
+    }
+
+    /**
+     * @param sequence The number of the request, the corpus is replayed round robin.
+     * @return The job of the request.
+     */
+    public RenderJob job(long sequence) {
+        return jobs.get((int) (sequence % jobs.size()));
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    private static RenderJob.DesignMutation appendRows(int rows) {
+        if (rows == 0) {
+            return null;
+        }
+        List<List<?>> cells = IntStream.range(0, rows)
+                .mapToObj(i -> List.of("row " + i, i))
+                .collect(Collectors.toList());
+        BirtUtils birtUtils = new BirtUtils();
+        return designHandle -> birtUtils.appendRows(new DesignIndex(designHandle).getGrid("secondGrid"), cells);
+    }
+}
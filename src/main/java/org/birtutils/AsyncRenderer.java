@@ -0,0 +1,153 @@
+package org.birtutils;
+
+import org.eclipse.birt.report.engine.api.IEngineTask;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non blocking facade over the report engine: every render runs on an executor and is returned as a future.
+ * <p>
+ * A render passing its deadline completes its future as TIMED_OUT at the deadline and its engine task is stopped
+ * through {@link IEngineTask#cancel()}. Cancelling the future stops the engine task the same way, also before it
+ * started. Futures never complete exceptionally, failures are reported by the status of the {@link RenderResult}.
+ * Jobs without an output path are rendered into memory and returned as {@link RenderResult#content()}.
+ * <pre>{@code
+ * asyncRenderer.renderAsync(new RenderJob("/example.rptdesign", params, OutputFormat.PDF, null), Duration.ofSeconds(30))
+ *         .thenAccept(result -> respond(result.content()));
+ * }</pre>
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class AsyncRenderer implements AutoCloseable {
+
+    private final RenderTaskRunner runner;
+
+    private final Executor executor;
+
+    private final ExecutorService ownedExecutor;
+
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * Renders on a pool of one thread per available processor, so no more renders share the engine at a time than
+     * there are cores. Requests beyond that wait in the pool's queue, their deadlines counting.
+     *
+     * @param reportEngine The shared engine, see {@link BirtEngineManager}.
+     * @param designCache  The cache from which designs are opened.
+     */
+    public AsyncRenderer(IReportEngine reportEngine, ReportDesignCache designCache) {
+        this(reportEngine, designCache, null, RenderMetrics.NOOP);
+    }
+
+    /**
+     * @param reportEngine The shared engine, see {@link BirtEngineManager}.
+     * @param designCache  The cache from which designs are opened.
+     * @param executor     The executor running the renders, null for a pool of one thread per available processor.
+     *                     It bounds how many renders run at a time and is not shut down on close.
+     * @param metrics      The RenderMetrics to which phase timings, output sizes and errors of every job are reported.
+     */
+    public AsyncRenderer(IReportEngine reportEngine, ReportDesignCache designCache, Executor executor, RenderMetrics metrics) {
+        this(reportEngine, designCache, executor, metrics, null);
+    }
+
+    /**
+     * @param reportEngine The shared engine, see {@link BirtEngineManager}.
+     * @param designCache  The cache from which designs are opened.
+     * @param executor     The executor running the renders, null for a pool of one thread per available processor.
+     *                     It bounds how many renders run at a time and is not shut down on close.
+     * @param metrics      The RenderMetrics to which phase timings, output sizes and errors of every job are reported.
+     * @param memoryBudget The MemoryBudget admitting every job before its design mutation, null for no limit. Time
+     *                     spent waiting for admission counts towards the deadline.
+     */
+    public AsyncRenderer(IReportEngine reportEngine, ReportDesignCache designCache, Executor executor, RenderMetrics metrics,
+                         MemoryBudget memoryBudget) {
+        this.runner = new RenderTaskRunner(reportEngine, designCache, metrics, memoryBudget);
+        if (executor != null) {
+            this.executor = executor;
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    BatchRenderer.threadFactory("birt-async-render-", true));
+            this.executor = ownedExecutor;
+        }
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(BatchRenderer.threadFactory("birt-async-render-watchdog-", true));
+    }
+
+    /**
+     * Renders a job without a deadline.
+     *
+     * @param job The RenderJob to render.
+     * @return A future completed with the result of the job.
+     */
+    public CompletableFuture<RenderResult> renderAsync(RenderJob job) {
+        return renderAsync(job, null);
+    }
+
+    /**
+     * Renders a job which has to finish within the deadline.
+     *
+     * @param job      The RenderJob to render.
+     * @param deadline The maximum time from this call to the finished render, null for no limit. Time spent waiting
+     *                 for the executor counts too.
+     * @return A future completed with the result of the job, cancelling it cancels the render.
+     */
+    public CompletableFuture<RenderResult> renderAsync(RenderJob job, Duration deadline) {
+        long start = System.nanoTime();
+        RenderControl control = new RenderControl();
+        CompletableFuture<RenderResult> result = new CompletableFuture<>();
+        result.whenComplete((ignored, error) -> {
+            if (result.isCancelled()) {
+                control.cancel();
+            }
+        });
+        ScheduledFuture<?> timeout = null;
+        if (deadline != null && !deadline.isZero()) {
+            timeout = watchdog.schedule(() -> {
+                control.timeOut();
+                result.complete(new RenderResult(job, RenderResult.Status.TIMED_OUT, null, null, null, RenderTaskRunner.millisSince(start)));
+            }, deadline.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        ScheduledFuture<?> scheduledTimeout = timeout;
+        try {
+            executor.execute(() -> {
+                try {
+                    // cancelled or timed out while waiting for the executor
+                    if (!control.isStopped()) {
+                        result.complete(runner.render(job, start, control));
+                    }
+                } finally {
+                    if (scheduledTimeout != null) {
+                        scheduledTimeout.cancel(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            result.complete(new RenderResult(job, RenderResult.Status.FAILED, null, null, e, RenderTaskRunner.millisSince(start)));
+        }
+        return result;
+    }
+
+    /**
+     * Stops the deadline watchdog and the executor created by this renderer, a given executor is left running.
+     */
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.report.engine.api.IEngineTask;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders many {@link RenderJob}s concurrently on one shared report engine.
+ * <p>
+ * At most {@code parallelism} jobs render at the same time and at most {@code queueCapacity} more wait for a slot;
+ * {@link #submit(RenderJob)} blocks the caller while the queue is full. A job running longer than the timeout, counted
+ * from the moment it gets a rendering slot, is cancelled through {@link IEngineTask#cancel()}. A failing job only fails
+ * its own {@link RenderResult}.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class BatchRenderer implements AutoCloseable {
+
+    private final RenderTaskRunner runner;
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService watchdog;
+
+    private final Semaphore queueSlots;
+
+    private final Semaphore runningSlots;
+
+    private final Duration jobTimeout;
+
+    /**
+     * @param reportEngine   The shared engine, see {@link BirtEngineManager}.
+     * @param designCache    The cache from which designs are opened.
+     * @param parallelism    The maximum number of jobs rendered at the same time.
+     * @param queueCapacity  The maximum number of submitted jobs waiting for a free slot.
+     * @param jobTimeout     The maximum time of a single render, null for no limit.
+     * @param virtualThreads Whether jobs run on virtual threads, ignored if the JDK does not support them.
+     */
+    public BatchRenderer(IReportEngine reportEngine, ReportDesignCache designCache, int parallelism, int queueCapacity,
+                         Duration jobTimeout, boolean virtualThreads) {
+        this(reportEngine, designCache, parallelism, queueCapacity, jobTimeout, virtualThreads, RenderMetrics.NOOP);
+    }
+
+    /**
+     * @param reportEngine   The shared engine, see {@link BirtEngineManager}.
+     * @param designCache    The cache from which designs are opened.
+     * @param parallelism    The maximum number of jobs rendered at the same time.
+     * @param queueCapacity  The maximum number of submitted jobs waiting for a free slot.
+     * @param jobTimeout     The maximum time of a single render, null for no limit.
+     * @param virtualThreads Whether jobs run on virtual threads, ignored if the JDK does not support them.
+     * @param metrics        The RenderMetrics to which phase timings, output sizes and errors of every job are reported.
+     */
+    public BatchRenderer(IReportEngine reportEngine, ReportDesignCache designCache, int parallelism, int queueCapacity,
+                         Duration jobTimeout, boolean virtualThreads, RenderMetrics metrics) {
+        this(reportEngine, designCache, parallelism, queueCapacity, jobTimeout, virtualThreads, metrics, null);
+    }
+
+    /**
+     * @param reportEngine   The shared engine, see {@link BirtEngineManager}.
+     * @param designCache    The cache from which designs are opened.
+     * @param parallelism    The maximum number of jobs rendered at the same time.
+     * @param queueCapacity  The maximum number of submitted jobs waiting for a free slot.
+     * @param jobTimeout     The maximum time of a single render, null for no limit.
+     * @param virtualThreads Whether jobs run on virtual threads, ignored if the JDK does not support them.
+     * @param metrics        The RenderMetrics to which phase timings, output sizes and errors of every job are reported.
+     * @param memoryBudget   The MemoryBudget admitting every job before its design mutation, null for no limit. A job
+     *                       it rejects ends with {@link RenderResult.Status#REJECTED}.
+     */
+    public BatchRenderer(IReportEngine reportEngine, ReportDesignCache designCache, int parallelism, int queueCapacity,
+                         Duration jobTimeout, boolean virtualThreads, RenderMetrics metrics, MemoryBudget memoryBudget) {
+        if (parallelism < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism + " or queue capacity " + queueCapacity);
+        }
+        this.runner = new RenderTaskRunner(reportEngine, designCache, metrics, memoryBudget);
+        this.jobTimeout = jobTimeout;
+        this.queueSlots = new Semaphore(parallelism + queueCapacity);
+        this.runningSlots = new Semaphore(parallelism);
+        ExecutorService virtualThreadExecutor = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.executor = virtualThreadExecutor != null
+                ? virtualThreadExecutor
+                : Executors.newFixedThreadPool(parallelism, threadFactory("birt-render-", false));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(threadFactory("birt-render-watchdog-", true));
+    }
+
+    /**
+     * Queues a job for rendering, blocking while the queue is full.
+     *
+     * @param job The RenderJob to render.
+     * @return A future completed with the result of the job, it never completes exceptionally.
+     * @throws InterruptedException if interrupted while waiting for a free queue slot.
+     */
+    public CompletableFuture<RenderResult> submit(RenderJob job) throws InterruptedException {
+        queueSlots.acquire();
+        CompletableFuture<RenderResult> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(render(job));
+                } finally {
+                    queueSlots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queueSlots.release();
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * Renders all jobs and waits for them to finish.
+     *
+     * @param jobs The RenderJobs to render.
+     * @return The results in the order of the jobs.
+     * @throws InterruptedException if interrupted while waiting for a free queue slot.
+     */
+    public List<RenderResult> renderAll(Iterable<RenderJob> jobs) throws InterruptedException {
+        List<CompletableFuture<RenderResult>> futures = new ArrayList<>();
+        for (RenderJob job : jobs) {
+            futures.add(submit(job));
+        }
+        List<RenderResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<RenderResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Stops accepting jobs and waits for the queued ones to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Waiting for render jobs to finish...");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            watchdog.shutdownNow();
+        }
+    }
+
+    private RenderResult render(RenderJob job) {
+        long start = System.nanoTime();
+        try {
+            runningSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return runner.failed(job, RenderResult.Status.CANCELLED, e, start);
+        }
+        RenderControl control = new RenderControl();
+        ScheduledFuture<?> timeout = null;
+        try {
+            if (jobTimeout != null && !jobTimeout.isZero()) {
+                timeout = watchdog.schedule(control::timeOut, jobTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return runner.render(job, start, control);
+        } finally {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            runningSlots.release();
+        }
+    }
+
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads are not available, using a platform thread pool");
+            return null;
+        }
+    }
+
+    static ThreadFactory threadFactory(String prefix, boolean daemon) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(daemon);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.core.framework.Platform;
+import org.eclipse.birt.report.engine.api.EngineConfig;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IReportEngineFactory;
+import org.eclipse.core.internal.registry.RegistryProviderFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holder of the single BIRT report engine shared by the whole JVM.
+ * <p>
+ * Starting the OSGi platform and creating an {@link IReportEngine} costs seconds, so it is done once on the first
+ * {@link #getReportEngine()} call. The same engine is then handed out to every caller; the engine is thread safe,
+ * only the tasks created from it are not and must stay per render. The platform is shut down once, either by an
+ * explicit {@link #shutdown()} or by a JVM shutdown hook.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class BirtEngineManager {
+
+    private static final BirtEngineManager INSTANCE = new BirtEngineManager();
+
+    private final List<WarmUpHook> warmUpHooks = new CopyOnWriteArrayList<>();
+
+    private volatile IReportEngine reportEngine;
+
+    private EngineConfig engineConfig = new EngineConfig();
+
+    private Thread shutdownHook;
+
+    private BirtEngineManager() {
+    }
+
+    /**
+     * @return The JVM wide engine manager.
+     */
+    public static BirtEngineManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Replaces the configuration used to start the platform and the engine.
+     *
+     * @param engineConfig The EngineConfig to start with.
+     * @throws IllegalStateException if the engine is already started.
+     */
+    public synchronized void setEngineConfig(EngineConfig engineConfig) {
+        if (reportEngine != null) {
+            throw new IllegalStateException("BIRT Report engine is already started, config can not be changed.");
+        }
+        this.engineConfig = engineConfig;
+    }
+
+    /**
+     * Serves the libraries, images and other resources referenced by designs from the cache, through a
+     * {@link CachingResourceLocator} set on the engine configuration.
+     *
+     * @param resourceCache The ResourceCache holding the resource bytes.
+     * @throws IllegalStateException if the engine is already started.
+     */
+    public synchronized void setResourceCache(ResourceCache resourceCache) {
+        if (reportEngine != null) {
+            throw new IllegalStateException("BIRT Report engine is already started, config can not be changed.");
+        }
+        engineConfig.setResourceLocator(new CachingResourceLocator(resourceCache));
+    }
+
+    /**
+     * Registers a hook which is run right after every start of the engine, i.e. again after {@link #shutdown()} and
+     * the next {@link #getReportEngine()}. If the engine is already running the hook is also run immediately.
+     *
+     * @param hook The WarmUpHook to run.
+     * @throws BirtException if the hook fails on an already started engine, it is not registered then.
+     */
+    public void addWarmUpHook(WarmUpHook hook) throws BirtException {
+        IReportEngine engine;
+        synchronized (this) {
+            warmUpHooks.add(hook);
+            engine = reportEngine;
+        }
+        if (engine != null) {
+            try {
+                hook.warmUp(engine);
+            } catch (BirtException | RuntimeException e) {
+                warmUpHooks.remove(hook);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns the shared report engine, starting the platform on the first call.
+     *
+     * @return The shared IReportEngine.
+     * @throws BirtException if the platform or the engine could not be started.
+     */
+    public IReportEngine getReportEngine() throws BirtException {
+        IReportEngine engine = reportEngine;
+        if (engine == null) {
+            synchronized (this) {
+                engine = reportEngine;
+                if (engine == null) {
+                    engine = startUp();
+                    reportEngine = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * @return true if the engine has been started and not shut down yet.
+     */
+    public boolean isStarted() {
+        return reportEngine != null;
+    }
+
+    /**
+     * Destroys the engine and shuts the platform down. Does nothing if the engine is not running.
+     */
+    public synchronized void shutdown() {
+        IReportEngine engine = reportEngine;
+        if (engine == null) {
+            return;
+        }
+        reportEngine = null;
+        if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                log.debug("JVM is already shutting down");
+            }
+        }
+        shutdownHook = null;
+        try {
+            log.info("Shutting down BIRT Report engine...");
+            engine.destroy();
+            RegistryProviderFactory.releaseDefault();
+            Platform.shutdown();
+            log.info("BIRT Platform shutdown completed successfully.");
+        } catch (Exception e) {
+            log.error("Error while shutting down BIRT Platform", e);
+        }
+    }
+
+    private IReportEngine startUp() throws BirtException {
+        long start = System.nanoTime();
+        RegistryProviderFactory.releaseDefault();
+        Platform.startup(engineConfig);
+        IReportEngine engine;
+        try {
+            IReportEngineFactory reportEngineFactory = (IReportEngineFactory) Platform.createFactoryObject(IReportEngineFactory.EXTENSION_REPORT_ENGINE_FACTORY);
+            if (reportEngineFactory == null) {
+                throw new BirtException("BIRT Report engine factory is not available.");
+            }
+            engine = reportEngineFactory.createReportEngine(engineConfig);
+        } catch (BirtException | RuntimeException e) {
+            // the platform is already running, leave nothing behind for the next attempt
+            log.error("BIRT Report engine could not be created, shutting the platform down");
+            RegistryProviderFactory.releaseDefault();
+            Platform.shutdown();
+            throw e;
+        }
+        shutdownHook = new Thread(this::shutdown, "birt-engine-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        log.info("BIRT Report engine started successfully in {} ms.", (System.nanoTime() - start) / 1_000_000);
+
+        try {
+            for (WarmUpHook hook : warmUpHooks) {
+                hook.warmUp(engine);
+            }
+        } catch (BirtException | RuntimeException e) {
+            log.error("BIRT Report engine warm-up failed, shutting down");
+            reportEngine = engine;
+            shutdown();
+            throw e;
+        }
+        return engine;
+    }
+
+    /**
+     * Callback run against every freshly started engine, e.g. to open frequently used designs or load emitters.
+     */
+    @FunctionalInterface
+    public interface WarmUpHook {
+        void warmUp(IReportEngine engine) throws BirtException;
+    }
+}
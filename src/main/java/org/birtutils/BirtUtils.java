@@ -8,12 +8,39 @@ import org.eclipse.birt.report.model.api.*;
 import org.eclipse.birt.report.model.api.activity.SemanticException;
 import org.eclipse.birt.report.model.api.command.ContentException;
 import org.eclipse.birt.report.model.api.command.NameException;
+import org.eclipse.birt.report.model.api.elements.structures.ComputedColumn;
+import org.eclipse.birt.report.model.api.elements.structures.ResultSetColumn;
+import org.eclipse.birt.report.model.core.Module;
 
-import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Class wrapper of dummy std birtruntime library with absolutely unenxected methods and them usage
@@ -23,6 +50,44 @@ import java.util.List;
  */
 @Slf4j
 public class BirtUtils {
+
+    /**
+     * Shared style with 1px solid borders used for grid cells.
+     */
+    public static final String BORDERED_CELL_STYLE = "bordered-cell";
+
+    /**
+     * Shared style with the Times New Roman 12pt font used for text items.
+     */
+    public static final String BODY_TEXT_STYLE = "body-text";
+
+    /**
+     * Shared style with the body font, centered text and 1px solid borders used for grids.
+     */
+    public static final String BORDERED_GRID_STYLE = "bordered-grid";
+
+    /**
+     * Scripted data source shared by the data sets of tables bound with {@link #bindTableToRows}.
+     */
+    public static final String STREAMING_DATA_SOURCE = "streaming-rows";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final Map<Module, BulkEdit> bulkEdits = new ConcurrentHashMap<>();
+
+    private volatile RenderMetrics metrics = RenderMetrics.NOOP;
+
+    // designs in which the shared styles were registered, so styling an element is only a reference by name
+    private final Set<Module> styledModules = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+
+    /**
+     * @param metrics The RenderMetrics to which classpath loading and the runs and renders of this class are reported,
+     *                per template and format.
+     */
+    public void setMetrics(RenderMetrics metrics) {
+        this.metrics = metrics != null ? metrics : RenderMetrics.NOOP;
+    }
+
     /**
      * Adds a new grid to the report design.
      * <p>
@@ -85,6 +150,7 @@ public class BirtUtils {
 
     /**
      * Sets properties for a CellHandle to customize its appearance.
+     * The borders come from the {@link #BORDERED_CELL_STYLE} shared style, registered in the design if missing.
      *
      * @param cell The CellHandle to which the properties will be applied.
      * @throws SemanticException if there is an issue with the BIRT design semantics.
@@ -94,18 +160,13 @@ public class BirtUtils {
             log.debug("CellHandle is null");
             return;
         }
-        cell.setProperty("borderBottomStyle", "solid");
-        cell.setProperty("borderBottomWidth", "1px");
-        cell.setProperty("borderLeftStyle", "solid");
-        cell.setProperty("borderLeftWidth", "1px");
-        cell.setProperty("borderRightStyle", "solid");
-        cell.setProperty("borderRightWidth", "1px");
-        cell.setProperty("borderTopStyle", "solid");
-        cell.setProperty("borderTopWidth", "1px");
+        ensureSharedStyles(cell.getModuleHandle());
+        cell.setStyleName(BORDERED_CELL_STYLE);
     }
 
     /**
      * Sets properties for a TextItemHandle to customize its appearance.
+     * The font comes from the {@link #BODY_TEXT_STYLE} shared style, registered in the design if missing.
      *
      * @param text The TextItemHandle to which the properties will be applied.
      * @throws SemanticException if there is an issue with the BIRT design semantics.
@@ -115,68 +176,477 @@ public class BirtUtils {
             log.debug("TextItemHandler is null");
             return;
         }
-        text.setProperty("fontFamily", "Times New Roman");
-        text.setProperty("fontSize", "12pt");
+        ensureSharedStyles(text.getModuleHandle());
+        text.setStyleName(BODY_TEXT_STYLE);
         text.setProperty("contentType", "plain"); // available values: plain, html, auto
     }
 
     /**
-     * Sets up the output format for a BIRT report task based on the desired format and output stream.
+     * Creates the render options for the desired format without any output target set.
      *
-     * @param task         The IRunAndRenderTask for which the output format will be set.
-     * @param format       The OutputFormat indicating the desired format for the report output.
-     * @param outputStream The ByteArrayOutputStream to which the report content will be written.
+     * @param format The OutputFormat indicating the desired format for the report output.
+     * @return The IRenderOption for the format, the caller sets either an output stream or an output file name.
+     * @throws BirtException if the format is not supported.
      */
-    public void setUpOutPutFormat(IRunAndRenderTask task, OutputFormat format, ByteArrayOutputStream outputStream) throws BirtException {
-        IRenderOption options = new RenderOption();
-        PDFRenderOption pdfOptions = new PDFRenderOption();
-        pdfOptions.setOption(IPDFRenderOption.REPAGINATE_FOR_PDF, Boolean.TRUE);
-        HTMLRenderOption htmlRenderOption = new HTMLRenderOption();
-        htmlRenderOption.setEmbeddable(true);
-
-        EXCELRenderOption excelRenderOption = new EXCELRenderOption();
+    public IRenderOption createRenderOption(OutputFormat format) throws BirtException {
         switch (format.getFormat()) {
             case ("docx") -> {
+                IRenderOption options = new RenderOption();
                 options.setOutputFormat("docx");
-                options.setOutputStream(outputStream);
                 options.setOption(RenderOption.LOCALE, "ru_RU");
-                task.setRenderOption(options);
                 log.debug("Set up output format -> docx");
+                return options;
             }
             case ("xlsx") -> {
+                EXCELRenderOption excelRenderOption = new EXCELRenderOption();
                 excelRenderOption.setOutputFormat("xlsx"); // Set the output format to XLSX
-                excelRenderOption.setOutputStream(outputStream);
-                task.setRenderOption(excelRenderOption);
                 log.debug("Set up output format -> xlsx");
+                return excelRenderOption;
             }
             case ("pdf") -> {
+                PDFRenderOption pdfOptions = new PDFRenderOption();
+                pdfOptions.setOption(IPDFRenderOption.REPAGINATE_FOR_PDF, Boolean.TRUE);
                 pdfOptions.setOutputFormat("pdf");
-                pdfOptions.setOutputStream(outputStream);
-                task.setRenderOption(pdfOptions);
                 log.debug("Set up output format -> pdf");
+                return pdfOptions;
             }
             case ("odt") -> {
+                IRenderOption options = new RenderOption();
                 options.setOutputFormat("odt");
-                options.setOutputStream(outputStream);
-                task.setRenderOption(options);
                 log.debug("Set up output format -> odt");
+                return options;
             }
             case ("rtf") -> {
+                IRenderOption options = new RenderOption();
                 options.setOutputFormat("rtf");
-                options.setOutputStream(outputStream);
-                task.setRenderOption(options);
                 log.debug("Set up output format -> rtf");
+                return options;
             }
             case ("html") -> {
+                HTMLRenderOption htmlRenderOption = new HTMLRenderOption();
+                htmlRenderOption.setEmbeddable(true);
                 htmlRenderOption.setOutputFormat("html"); // Set the output format to HTML
-                htmlRenderOption.setOutputStream(outputStream);
-                task.setRenderOption(htmlRenderOption);
                 log.debug("Set up output format -> html");
+                return htmlRenderOption;
             }
             default -> throw new BirtException("Unsupported format: " + format);
         }
     }
 
+    /**
+     * Sets up the output format for a BIRT report task based on the desired format and output stream.
+     * The emitter writes straight into the stream, it is neither buffered in memory nor closed by the task.
+     *
+     * @param task         The IRunAndRenderTask for which the output format will be set.
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param outputStream The OutputStream to which the report content will be written.
+     * @throws BirtException if the format is not supported.
+     */
+    public void setUpOutPutFormat(IRunAndRenderTask task, OutputFormat format, OutputStream outputStream) throws BirtException {
+        IRenderOption options = createRenderOption(format);
+        options.setOutputStream(outputStream);
+        task.setRenderOption(options);
+    }
+
+    /**
+     * Sets up the output format for a BIRT report task writing gzip compressed content into the output stream.
+     * The gzip trailer is written when the task finishes, the output stream itself is left open.
+     *
+     * @param task         The IRunAndRenderTask for which the output format will be set.
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param outputStream The OutputStream to which the compressed report content will be written.
+     * @param gzip         Whether the content is gzip compressed on the fly.
+     * @throws BirtException if the format is not supported or the gzip stream could not be opened.
+     */
+    public void setUpOutPutFormat(IRunAndRenderTask task, OutputFormat format, OutputStream outputStream, boolean gzip) throws BirtException {
+        if (!gzip) {
+            setUpOutPutFormat(task, format, outputStream);
+            return;
+        }
+        IRenderOption options = createRenderOption(format);
+        try {
+            options.setOutputStream(new GZIPOutputStream(new NonClosingOutputStream(outputStream), GZIP_BUFFER_SIZE));
+        } catch (IOException e) {
+            throw new BirtException("Error while opening gzip output: " + e.getMessage());
+        }
+        // closing the gzip stream on exit writes its trailer, NonClosingOutputStream keeps the caller's stream open
+        options.setOption(IRenderOption.CLOSE_OUTPUTSTREAM_ON_EXIT, Boolean.TRUE);
+        task.setRenderOption(options);
+    }
+
+    /**
+     * Sets up the output format for a BIRT report task writing into a channel, e.g. a socket or file channel.
+     *
+     * @param task    The IRunAndRenderTask for which the output format will be set.
+     * @param format  The OutputFormat indicating the desired format for the report output.
+     * @param channel The WritableByteChannel to which the report content will be written.
+     * @throws BirtException if the format is not supported.
+     */
+    public void setUpOutPutFormat(IRunAndRenderTask task, OutputFormat format, WritableByteChannel channel) throws BirtException {
+        setUpOutPutFormat(task, format, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Sets up the output format for a BIRT report task writing into a file. The emitter opens and closes the file
+     * itself, so nothing has to be copied or closed by the caller.
+     *
+     * @param task   The IRunAndRenderTask for which the output format will be set.
+     * @param format The OutputFormat indicating the desired format for the report output.
+     * @param target The Path of the file to which the report content will be written.
+     * @throws BirtException if the format is not supported.
+     */
+    public void setUpOutPutFormat(IRunAndRenderTask task, OutputFormat format, Path target) throws BirtException {
+        IRenderOption options = createRenderOption(format);
+        options.setOutputFileName(target.toAbsolutePath().toString());
+        task.setRenderOption(options);
+    }
+
+    /**
+     * Runs a report once into a report document (.rptdocument) without rendering it.
+     *
+     * @param engine     The IReportEngine used to create the task.
+     * @param runnable   The IReportRunnable of the design to run.
+     * @param parameters The report parameter values, may be null.
+     * @param document   The Path of the report document to write.
+     * @throws BirtException if the report could not be run.
+     */
+    public void runToDocument(IReportEngine engine, IReportRunnable runnable, Map<String, ?> parameters, Path document) throws BirtException {
+        IRunTask task = engine.createRunTask(runnable);
+        try {
+            if (parameters != null) {
+                task.setParameterValues(parameters);
+            }
+            try (PhaseTimer ignored = PhaseTimer.start(metrics, runnable.getReportName(), null, RenderPhase.RUN)) {
+                task.run(document.toAbsolutePath().toString());
+            }
+            metrics.recordErrors(runnable.getReportName(), null, task.getErrors().size());
+            log.debug("Report {} run into document {}", runnable.getReportName(), document);
+        } finally {
+            task.close();
+        }
+    }
+
+    /**
+     * Renders a report document, previously written by {@link #runToDocument}, into a file of the given format.
+     * Each call opens its own view of the document, so several formats can be rendered from it concurrently.
+     *
+     * @param engine   The IReportEngine used to open the document and create the task.
+     * @param document The Path of the report document to render.
+     * @param format   The OutputFormat indicating the desired format for the report output.
+     * @param target   The Path of the file to which the report content will be written.
+     * @throws BirtException if the format is not supported or the document could not be rendered.
+     */
+    public void renderDocument(IReportEngine engine, Path document, OutputFormat format, Path target) throws BirtException {
+        IReportDocument reportDocument = engine.openReportDocument(document.toAbsolutePath().toString());
+        IRenderTask task = engine.createRenderTask(reportDocument);
+        try {
+            IRenderOption options = createRenderOption(format);
+            options.setOutputFileName(target.toAbsolutePath().toString());
+            task.setRenderOption(options);
+            render(task, reportDocument, format);
+            metrics.recordOutputBytes(reportDocument.getReportRunnable().getReportName(), format.getFormat(), Files.size(target));
+            log.debug("Report document {} rendered into {}", document, target);
+        } catch (IOException e) {
+            throw new BirtException("Error while reading the size of " + target + ": " + e.getMessage());
+        } finally {
+            task.close();
+            reportDocument.close();
+        }
+    }
+
+    /**
+     * Sets up the output format for rendering a report document into an output stream, see
+     * {@link #setUpOutPutFormat(IRunAndRenderTask, OutputFormat, OutputStream)}.
+     *
+     * @param task         The IRenderTask for which the output format will be set.
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param outputStream The OutputStream to which the report content will be written.
+     * @throws BirtException if the format is not supported.
+     */
+    public void setUpOutPutFormat(IRenderTask task, OutputFormat format, OutputStream outputStream) throws BirtException {
+        IRenderOption options = createRenderOption(format);
+        options.setOutputStream(outputStream);
+        task.setRenderOption(options);
+    }
+
+    /**
+     * Renders a report into XLSX through the {@link TabularExporter} if its design is purely tabular, otherwise, and
+     * for every other format, through the layout engine like {@link #setUpOutPutFormat} does. CSV, which the engine
+     * has no emitter for, is written by {@link #renderCsv}.
+     *
+     * @param engine       The IReportEngine used for the full render.
+     * @param runnable     The IReportRunnable of the report.
+     * @param parameters   The report parameter values, may be null.
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param outputStream The OutputStream to which the report content will be written.
+     * @return true if the layout-free fast path was taken.
+     * @throws BirtException if the format is not supported or the report could not be rendered.
+     */
+    public boolean renderWithFastPath(IReportEngine engine, IReportRunnable runnable, Map<String, ?> parameters, OutputFormat format,
+                                      OutputStream outputStream) throws BirtException {
+        long start = System.nanoTime();
+        String template = runnable.getReportName();
+        MeteredOutputStream output = new MeteredOutputStream(outputStream);
+        ReportDesignHandle designHandle = getReportDesignFromRunnable(runnable);
+        TabularExporter exporter = new TabularExporter();
+        boolean fastPath = format == OutputFormat.XLSX && exporter.isTabular(designHandle);
+        if (fastPath) {
+            exporter.exportXlsx(designHandle, parameters, output);
+        } else {
+            IRunAndRenderTask task = engine.createRunAndRenderTask(runnable);
+            try {
+                if (parameters != null) {
+                    task.setParameterValues(parameters);
+                }
+                setUpOutPutFormat(task, format, output);
+                try (PhaseTimer ignored = PhaseTimer.start(metrics, template, format.getFormat(), RenderPhase.RUN)) {
+                    task.run();
+                }
+                metrics.recordErrors(template, format.getFormat(), task.getErrors().size());
+            } finally {
+                task.close();
+            }
+        }
+        metrics.recordOutputBytes(template, format.getFormat(), output.getBytes());
+        metrics.recordPhase(template, format.getFormat(), RenderPhase.TOTAL, System.nanoTime() - start);
+        return fastPath;
+    }
+
+    /**
+     * Renders a purely tabular report into CSV through the {@link TabularExporter}. The engine has no CSV emitter, so
+     * there is no fallback for other designs.
+     *
+     * @param runnable     The IReportRunnable of the report.
+     * @param parameters   The report parameter values, may be null.
+     * @param outputStream The OutputStream to which the UTF-8 text is written.
+     * @throws BirtException if the design is not tabular, a parameter value is missing or invalid or the text could
+     *                       not be written.
+     */
+    public void renderCsv(IReportRunnable runnable, Map<String, ?> parameters, OutputStream outputStream) throws BirtException {
+        long start = System.nanoTime();
+        String template = runnable.getReportName();
+        MeteredOutputStream output = new MeteredOutputStream(outputStream);
+        new TabularExporter().exportCsv(getReportDesignFromRunnable(runnable), parameters, output);
+        metrics.recordOutputBytes(template, "csv", output.getBytes());
+        metrics.recordPhase(template, "csv", RenderPhase.TOTAL, System.nanoTime() - start);
+    }
+
+    /**
+     * Renders only some pages of a report document, e.g. the first page of a long report for a preview. Only the
+     * requested pages are read from the document and emitted, however large the document is.
+     *
+     * @param engine       The IReportEngine used to open the document and create the task.
+     * @param document     The Path of the report document to render.
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param pageRange    The pages to render, 1 based, e.g. "1", "3-5" or "1,4-6".
+     * @param outputStream The OutputStream to which the report content will be written.
+     * @throws BirtException if the format is not supported or the document could not be rendered.
+     */
+    public void renderDocumentPages(IReportEngine engine, Path document, OutputFormat format, String pageRange,
+                                    OutputStream outputStream) throws BirtException {
+        IReportDocument reportDocument = engine.openReportDocument(document.toAbsolutePath().toString());
+        IRenderTask task = engine.createRenderTask(reportDocument);
+        try {
+            MeteredOutputStream output = new MeteredOutputStream(outputStream);
+            setUpOutPutFormat(task, format, output);
+            task.setPageRange(pageRange);
+            render(task, reportDocument, format);
+            metrics.recordOutputBytes(reportDocument.getReportRunnable().getReportName(), format.getFormat(), output.getBytes());
+            log.debug("Pages {} of report document {} rendered", pageRange, document);
+        } finally {
+            task.close();
+            reportDocument.close();
+        }
+    }
+
+    /**
+     * Renders the page of a report document holding a bookmark, e.g. the target of a table of contents entry.
+     *
+     * @param engine       The IReportEngine used to open the document and create the task.
+     * @param document     The Path of the report document to render.
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param bookmark     The bookmark to look up.
+     * @param outputStream The OutputStream to which the report content will be written.
+     * @return The 1 based number of the rendered page, or -1 if the document has no such bookmark and nothing was
+     * rendered.
+     * @throws BirtException if the format is not supported or the document could not be rendered.
+     */
+    public long renderDocumentBookmark(IReportEngine engine, Path document, OutputFormat format, String bookmark,
+                                       OutputStream outputStream) throws BirtException {
+        IReportDocument reportDocument = engine.openReportDocument(document.toAbsolutePath().toString());
+        try {
+            long page = reportDocument.getPageNumber(bookmark);
+            if (page < 1) {
+                log.debug("Bookmark {} not found in report document {}", bookmark, document);
+                return -1;
+            }
+            IRenderTask task = engine.createRenderTask(reportDocument);
+            try {
+                MeteredOutputStream output = new MeteredOutputStream(outputStream);
+                setUpOutPutFormat(task, format, output);
+                task.setPageNumber(page);
+                render(task, reportDocument, format);
+                metrics.recordOutputBytes(reportDocument.getReportRunnable().getReportName(), format.getFormat(), output.getBytes());
+            } finally {
+                task.close();
+            }
+            return page;
+        } finally {
+            reportDocument.close();
+        }
+    }
+
+    private void render(IRenderTask task, IReportDocument reportDocument, OutputFormat format) throws BirtException {
+        String template = reportDocument.getReportRunnable().getReportName();
+        try (PhaseTimer ignored = PhaseTimer.start(metrics, template, format.getFormat(), RenderPhase.DOCUMENT_RENDER)) {
+            task.render();
+        }
+        metrics.recordErrors(template, format.getFormat(), task.getErrors().size());
+    }
+
+    /**
+     * Runs a report once and renders the result into several formats in parallel.
+     * <p>
+     * Unlike one {@link IRunAndRenderTask} per format, data retrieval and report generation happen only once into a
+     * temporary report document; only the render phase is repeated for every format. The output of each format is
+     * written to {@code outputDirectory/baseName.<format>}.
+     *
+     * @param engine          The IReportEngine used to create the tasks.
+     * @param runnable        The IReportRunnable of the design to run.
+     * @param parameters      The report parameter values, may be null.
+     * @param formats         The OutputFormats to render.
+     * @param outputDirectory The directory to which the outputs and the temporary report document are written.
+     * @param baseName        The file name of the outputs without extension.
+     * @param executor        The Executor on which the formats are rendered.
+     * @return The Path of the output file per OutputFormat.
+     * @throws BirtException if the report could not be run or any of the formats could not be rendered.
+     */
+    public Map<OutputFormat, Path> runAndRenderToFormats(IReportEngine engine, IReportRunnable runnable, Map<String, ?> parameters,
+                                                         Set<OutputFormat> formats, Path outputDirectory, String baseName,
+                                                         Executor executor) throws BirtException {
+        Path document = outputDirectory.resolve(baseName + "-" + UUID.randomUUID() + ".rptdocument");
+        try {
+            Files.createDirectories(outputDirectory);
+            runToDocument(engine, runnable, parameters, document);
+
+            Map<OutputFormat, CompletableFuture<Path>> renders = new EnumMap<>(OutputFormat.class);
+            for (OutputFormat format : formats) {
+                Path target = outputDirectory.resolve(baseName + "." + format.getFormat());
+                renders.put(format, CompletableFuture.supplyAsync(() -> {
+                    try {
+                        renderDocument(engine, document, format, target);
+                        return target;
+                    } catch (BirtException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor));
+            }
+
+            Map<OutputFormat, Path> outputs = new EnumMap<>(OutputFormat.class);
+            BirtException failure = null;
+            for (Map.Entry<OutputFormat, CompletableFuture<Path>> render : renders.entrySet()) {
+                try {
+                    outputs.put(render.getKey(), render.getValue().join());
+                } catch (CompletionException e) {
+                    log.error("Error while rendering " + runnable.getReportName() + " into " + render.getKey(), e.getCause());
+                    if (failure == null) {
+                        failure = new BirtException("Error while rendering " + render.getKey() + ": " + e.getCause().getMessage());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return outputs;
+        } catch (IOException e) {
+            throw new BirtException("Error while creating output directory " + outputDirectory + ": " + e.getMessage());
+        } finally {
+            deleteQuietly(document);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path);
+        }
+    }
+
+    /**
+     * Registers the shared styles used by the create/set helpers in the design, if they are not there yet.
+     * <p>
+     * Elements reference these styles by name instead of carrying the same font and border properties inline, so the
+     * design stays small and emitters resolve each style once. The helpers call this once per design and afterwards
+     * only reference the styles by name, so remove them from a design only together with the elements using them.
+     *
+     * @param designHandle The handle of the design in which the styles will be registered.
+     * @throws SemanticException if there is an issue with the BIRT design semantics.
+     */
+    public void registerSharedStyles(ModuleHandle designHandle) throws SemanticException {
+        if (designHandle == null) {
+            log.debug("ModuleHandle is null");
+            return;
+        }
+        if (designHandle.findStyle(BORDERED_CELL_STYLE) == null) {
+            SharedStyleHandle style = designHandle.getElementFactory().newStyle(BORDERED_CELL_STYLE);
+            setBorderProperties(style);
+            designHandle.getStyles().add(style);
+        }
+        if (designHandle.findStyle(BODY_TEXT_STYLE) == null) {
+            SharedStyleHandle style = designHandle.getElementFactory().newStyle(BODY_TEXT_STYLE);
+            setFontProperties(style);
+            designHandle.getStyles().add(style);
+        }
+        if (designHandle.findStyle(BORDERED_GRID_STYLE) == null) {
+            SharedStyleHandle style = designHandle.getElementFactory().newStyle(BORDERED_GRID_STYLE);
+            setFontProperties(style);
+            style.setProperty("textAlign", "center");
+            setBorderProperties(style);
+            designHandle.getStyles().add(style);
+        }
+        styledModules.add(designHandle.getModule());
+    }
+
+    private void ensureSharedStyles(ModuleHandle designHandle) throws SemanticException {
+        if (designHandle != null && !styledModules.contains(designHandle.getModule())) {
+            registerSharedStyles(designHandle);
+        }
+    }
+
+    /**
+     * Opens a scope in which mutations of the design are applied without undo history.
+     * <p>
+     * Every setProperty or add issued through a design handle is a command recorded for undo. Inside the scope no
+     * undo records are kept, the shared styles are looked up once and {@link #createCellWithTextToRow} copies a styled
+     * cell built once instead of styling every cell. Use it around large batches of the helpers of this class, e.g.
+     * filling a grid cell by cell, on designs which are rendered and never undone.
+     * <p>
+     * Opening the scope discards the undo and redo history of the design, see {@link BulkEdit}.
+     *
+     * @param designHandle The handle of the design which will be edited.
+     * @return The BulkEdit scope, to be closed when the batch is done.
+     */
+    public BulkEdit bulkEdit(ModuleHandle designHandle) {
+        return new BulkEdit(designHandle, bulkEdits);
+    }
+
+    private void setFontProperties(SharedStyleHandle style) throws SemanticException {
+        style.setProperty("fontFamily", "Times New Roman");
+        style.setProperty("fontSize", "12pt");
+    }
+
+    private void setBorderProperties(SharedStyleHandle style) throws SemanticException {
+        style.setProperty("borderBottomStyle", "solid");
+        style.setProperty("borderBottomWidth", "1px");
+        style.setProperty("borderLeftStyle", "solid");
+        style.setProperty("borderLeftWidth", "1px");
+        style.setProperty("borderRightStyle", "solid");
+        style.setProperty("borderRightWidth", "1px");
+        style.setProperty("borderTopStyle", "solid");
+        style.setProperty("borderTopWidth", "1px");
+    }
+
     /**
      * Retrieves a BIRT report item from a report design based on its name.
      *
@@ -186,15 +656,18 @@ public class BirtUtils {
      */
     public Object getItemByName(ReportDesignHandle reportDesign, String itemName) {
         DesignElementHandle element = reportDesign.findElement(itemName);
-        if (element != null) {
-            if (element instanceof GridHandle || element instanceof TextItemHandle) {
+        if (element instanceof GridHandle || element instanceof TextItemHandle) {
+            if (log.isDebugEnabled()) {
                 log.debug("Found element '" + itemName + "' of type: " + element.getClass().getSimpleName());
-                return element;
-            } else {
+            }
+            return element;
+        }
+        if (log.isDebugEnabled()) {
+            if (element != null) {
                 log.debug("Found element '" + itemName + "' but it is not a GridHandle or TextItemHandle.");
+            } else {
+                log.debug("Element '" + itemName + "' not found in the report design.");
             }
-        } else {
-            log.debug("Element '" + itemName + "' not found in the report design.");
         }
         return null;
     }
@@ -208,7 +681,7 @@ public class BirtUtils {
      */
     public InputStream getReportFromClassPath(String reportName) throws BirtException {
         log.debug("Getting report from filesystem {}", reportName);
-        try {
+        try (PhaseTimer ignored = PhaseTimer.start(metrics, reportName, null, RenderPhase.CLASSPATH_LOAD)) {
             URL url = getClass().getResource(reportName);
             InputStream inputStream;
             if (url != null) {
@@ -229,6 +702,24 @@ public class BirtUtils {
         }
     }
 
+    /**
+     * Gets a BIRT report file from the classpath through a resource cache, so the URL is resolved and the file read
+     * only once while it is unchanged.
+     *
+     * @param reportName    The classpath path of the BIRT report file.
+     * @param resourceCache The ResourceCache holding the report bytes.
+     * @return A stream over the cached report bytes.
+     * @throws BirtException if the report file does not exist or is not readable.
+     */
+    public InputStream getReportFromClassPath(String reportName, ResourceCache resourceCache) throws BirtException {
+        try {
+            return resourceCache.openClassPathResource(reportName);
+        } catch (IOException e) {
+            log.error("Error while retrieving report {}", reportName);
+            throw new BirtException("Error while retrieving report " + reportName + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Retrieves the ReportDesignHandle from an IReportRunnable.
      *
@@ -253,13 +744,14 @@ public class BirtUtils {
         if (gridHandle == null) {
             return null;
         }
-        List<RowHandle> rows = new ArrayList<>();
         SlotHandle slot = gridHandle.getSlot(GridHandle.ROW_SLOT);
-        if (slot != null) {
-            for (int i = 0; i < slot.getCount(); i++) {
-                if (slot.get(i) instanceof RowHandle rowHandle) {
-                    rows.add(rowHandle);
-                }
+        if (slot == null) {
+            return new ArrayList<>();
+        }
+        List<RowHandle> rows = new ArrayList<>(slot.getCount());
+        for (int i = 0; i < slot.getCount(); i++) {
+            if (slot.get(i) instanceof RowHandle rowHandle) {
+                rows.add(rowHandle);
             }
         }
         return rows;
@@ -271,22 +763,58 @@ public class BirtUtils {
      * @param rowHandle The GridHandle object representing the grid in the BIRT report design.
      * @return A List of CellHandle objects representing the rows in the grid. Returns null if the input RowHandle is null.
      */
-    @SuppressWarnings("unchecked")
     public List<CellHandle> getRowCells(RowHandle rowHandle) {
         if (rowHandle == null) {
             return null;
         }
-        List<CellHandle> cells = new ArrayList<>();
         SlotHandle slot = rowHandle.getCells();
-        List<DesignElementHandle> elements = slot.getContents();
-        for (DesignElementHandle element : elements) {
-            if (element instanceof CellHandle cell) {
+        List<CellHandle> cells = new ArrayList<>(slot.getCount());
+        for (int i = 0; i < slot.getCount(); i++) {
+            if (slot.get(i) instanceof CellHandle cell) {
                 cells.add(cell);
             }
         }
         return cells;
     }
 
+    /**
+     * Visits the rows of a grid in order without building an intermediate list.
+     * Rows added to the grid by the visitor are visited as well.
+     *
+     * @param gridHandle The GridHandle whose rows will be visited.
+     * @param visitor    The RowVisitor called for every row.
+     * @throws BirtException if the visitor fails.
+     */
+    public void forEachRow(GridHandle gridHandle, RowVisitor visitor) throws BirtException {
+        if (gridHandle == null) {
+            return;
+        }
+        SlotHandle rows = gridHandle.getRows();
+        for (int i = 0; i < rows.getCount(); i++) {
+            if (rows.get(i) instanceof RowHandle row) {
+                visitor.visit(i, row);
+            }
+        }
+    }
+
+    /**
+     * Visits every cell of a grid row by row, left to right, without building intermediate lists.
+     *
+     * @param gridHandle The GridHandle whose cells will be visited.
+     * @param visitor    The CellVisitor called for every cell.
+     * @throws BirtException if the visitor fails.
+     */
+    public void forEachCell(GridHandle gridHandle, CellVisitor visitor) throws BirtException {
+        forEachRow(gridHandle, (rowIndex, row) -> {
+            SlotHandle cells = row.getCells();
+            for (int i = 0; i < cells.getCount(); i++) {
+                if (cells.get(i) instanceof CellHandle cell) {
+                    visitor.visit(rowIndex, i, cell);
+                }
+            }
+        });
+    }
+
     /**
      * Creates a new RowHandle in a BIRT report design.
      *
@@ -327,8 +855,8 @@ public class BirtUtils {
      * Creates a new grid and adds it to the report design.
      * <p>
      * This method creates a new grid with the specified name, number of rows, and number of columns. The grid is added to
-     * the report design handle, which represents the report design. The grid is initialized with default properties such
-     * as font family, font size, text alignment, and height.
+     * the report design handle, which represents the report design. The grid references the {@link #BORDERED_GRID_STYLE}
+     * shared style for font, text alignment and borders, and gets a default height.
      *
      * @param designHandle The handle to the report design where the new grid will be added.
      * @param name         The name of the new grid.
@@ -340,18 +868,9 @@ public class BirtUtils {
      */
     public GridHandle createNewGrid(ReportDesignHandle designHandle, String name, int rows, int columns) throws SemanticException {
         GridHandle gridHandle = designHandle.getElementFactory().newGridItem(name, rows, columns);
-        gridHandle.setProperty("fontFamily", "Times New Roman");
-        gridHandle.setProperty("fontSize", "12pt");
-        gridHandle.setProperty("textAlign", "center");
+        ensureSharedStyles(designHandle);
+        gridHandle.setStyleName(BORDERED_GRID_STYLE);
         gridHandle.setProperty("height", "10cm");
-        gridHandle.setProperty("borderBottomStyle", "solid");
-        gridHandle.setProperty("borderBottomWidth", "1px");
-        gridHandle.setProperty("borderLeftStyle", "solid");
-        gridHandle.setProperty("borderLeftWidth", "1px");
-        gridHandle.setProperty("borderRightStyle", "solid");
-        gridHandle.setProperty("borderRightWidth", "1px");
-        gridHandle.setProperty("borderTopStyle", "solid");
-        gridHandle.setProperty("borderTopWidth", "1px");
         return gridHandle;
     }
 
@@ -369,6 +888,18 @@ public class BirtUtils {
             log.debug("RowHandle is null");
             return;
         }
+        BulkEdit bulkEdit = bulkEdits.get(designHandle.getModule());
+        if (bulkEdit != null) {
+            CellHandle template = bulkEdit.getCellTemplate();
+            if (template == null) {
+                template = createCellTemplate(designHandle.getElementFactory());
+                bulkEdit.setCellTemplate(template);
+            }
+            CellHandle cell = (CellHandle) template.copy().getHandle(designHandle.getModule());
+            ((TextItemHandle) cell.getContent().get(0)).setContent(textToPlace);
+            addCellToRow(row, cell);
+            return;
+        }
         CellHandle cell = createNewCell(designHandle);
         TextItemHandle textItem = createNewTextItem(designHandle);
         textItem.setContent(textToPlace);
@@ -378,6 +909,220 @@ public class BirtUtils {
         addCellToRow(row, cell);
     }
 
+    /**
+     * Appends rows of text cells to a grid in one pass.
+     * <p>
+     * Unlike calling {@link #createCellWithTextToRow} per cell, the styled cells and text items are built once as a
+     * row template per row width and every row is a copy of it, so the style properties are not set again for each
+     * cell. Only the text content is written per cell and each row is added to the grid with a single command.
+     *
+     * @param grid The GridHandle to which the rows will be appended.
+     * @param rows The rows to append, each list holds the cell values from left to right. Null values become empty cells.
+     * @return The number of rows appended.
+     * @throws SemanticException if there is an issue with the BIRT design semantics.
+     */
+    public int appendRows(GridHandle grid, Iterable<? extends List<?>> rows) throws SemanticException {
+        if (grid == null || rows == null) {
+            log.debug("GridHandle or rows is null");
+            return 0;
+        }
+        Module module = grid.getModule();
+        SlotHandle gridRows = grid.getRows();
+        Map<Integer, RowHandle> templates = new HashMap<>();
+        int appended = 0;
+        for (List<?> values : rows) {
+            RowHandle template = templates.get(values.size());
+            if (template == null) {
+                template = createRowTemplate(grid.getElementFactory(), values.size());
+                templates.put(values.size(), template);
+            }
+            RowHandle row = (RowHandle) template.copy().getHandle(module);
+            SlotHandle cells = row.getCells();
+            int index = 0;
+            for (Object value : values) {
+                TextItemHandle text = (TextItemHandle) ((CellHandle) cells.get(index++)).getContent().get(0);
+                text.setContent(value == null ? null : value.toString());
+            }
+            gridRows.add(row);
+            appended++;
+        }
+        log.debug("Appended {} rows to grid {}", appended, grid.getName());
+        return appended;
+    }
+
+    private RowHandle createRowTemplate(ElementFactory factory, int cellCount) throws SemanticException {
+        RowHandle row = factory.newTableRow();
+        for (int i = 0; i < cellCount; i++) {
+            addCellToRow(row, createCellTemplate(factory));
+        }
+        return row;
+    }
+
+    private CellHandle createCellTemplate(ElementFactory factory) throws SemanticException {
+        CellHandle cell = factory.newCell();
+        TextItemHandle textItem = factory.newTextItem(null);
+        setPropertyToText(textItem);
+        addTextToCell(textItem, cell);
+        setPropertyToCell(cell);
+        return cell;
+    }
+
+    /**
+     * Binds a table to rows streamed from Java during the run instead of design time rows.
+     * <p>
+     * A scripted data set handled by {@link StreamingDataSetHandler} is added to the design with one column per name,
+     * and the table gets a column binding for each of them. A table without detail rows gets a header row with the
+     * column names and a detail row with a data item per column. If the design has no table with the name, a new one
+     * is added to the end of the body. The rows themselves are set on each task with {@link #setRows} or
+     * {@link #setRowStream}, so one design serves any number of rows while only the laid out pages are kept in memory.
+     *
+     * @param designHandle The ReportDesignHandle containing the table.
+     * @param tableName    The name of the table, also naming its data set.
+     * @param columns      The column names, values of each row are taken in this order.
+     * @return The TableHandle bound to the streamed rows.
+     * @throws SemanticException if there is an issue with the BIRT design semantics.
+     */
+    public TableHandle bindTableToRows(ReportDesignHandle designHandle, String tableName, List<String> columns) throws SemanticException {
+        ElementFactory factory = designHandle.getElementFactory();
+        DesignElementHandle element = designHandle.findElement(tableName);
+        TableHandle table;
+        if (element instanceof TableHandle existing) {
+            table = existing;
+        } else if (element == null) {
+            table = factory.newTableItem(tableName, columns.size(), 0, 0, 0);
+            designHandle.getBody().add(table);
+        } else {
+            throw new NameException(designHandle.getElement(), tableName, NameException.DESIGN_EXCEPTION_DUPLICATE);
+        }
+
+        DataSourceHandle dataSource = designHandle.findDataSource(STREAMING_DATA_SOURCE);
+        if (dataSource == null) {
+            dataSource = factory.newScriptDataSource(STREAMING_DATA_SOURCE);
+            designHandle.getDataSources().add(dataSource);
+        }
+        String dataSetName = streamingDataSetName(tableName);
+        DataSetHandle previous = designHandle.findDataSet(dataSetName);
+        if (previous != null) {
+            previous.drop();
+        }
+        ScriptDataSetHandle dataSet = factory.newScriptDataSet(dataSetName);
+        dataSet.setDataSource(STREAMING_DATA_SOURCE);
+        dataSet.setEventHandlerClass(StreamingDataSetHandler.class.getName());
+        PropertyHandle resultSet = dataSet.getPropertyHandle(ScriptDataSetHandle.RESULT_SET_PROP);
+        for (int i = 0; i < columns.size(); i++) {
+            ResultSetColumn column = StructureFactory.createResultSetColumn();
+            column.setColumnName(columns.get(i));
+            column.setPosition(i + 1);
+            resultSet.addItem(column);
+        }
+        designHandle.getDataSets().add(dataSet);
+
+        table.setDataSet(dataSet);
+        for (String name : columns) {
+            ComputedColumn binding = StructureFactory.newComputedColumn(table, name);
+            binding.setExpression("dataSetRow[\"" + name + "\"]");
+            table.addColumnBinding(binding, true);
+        }
+        if (table.getDetail().getCount() == 0) {
+            addStreamingRows(designHandle, table, columns);
+        }
+        log.debug("Bound table {} to data set {}", tableName, dataSetName);
+        return table;
+    }
+
+    /**
+     * Sets the rows of a table bound by {@link #bindTableToRows} for one run of a task. The supplier is called each
+     * time the engine executes the data set, every call must return a fresh iterator.
+     *
+     * @param task      The IEngineTask running the design, e.g. IRunAndRenderTask or IRunTask.
+     * @param tableName The name of the bound table.
+     * @param rows      Supplies the rows, each list holds the column values in the order of the bound columns.
+     */
+    public void setRows(IEngineTask task, String tableName, Supplier<? extends Iterator<? extends List<?>>> rows) {
+        setRowStream(task, tableName, () -> StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows.get(), Spliterator.ORDERED), false));
+    }
+
+    /**
+     * Sets the rows of a table bound by {@link #bindTableToRows} for one run of a task. The supplier is called each
+     * time the engine executes the data set and every stream is closed once the data set is closed, so e.g. a stream
+     * over a database cursor or a file releases it with the run.
+     *
+     * @param task      The IEngineTask running the design, e.g. IRunAndRenderTask or IRunTask.
+     * @param tableName The name of the bound table.
+     * @param rows      Supplies the rows, each list holds the column values in the order of the bound columns.
+     */
+    @SuppressWarnings("unchecked")
+    public void setRowStream(IEngineTask task, String tableName, Supplier<? extends Stream<? extends List<?>>> rows) {
+        Map<Object, Object> appContext = new HashMap<>(task.getAppContext());
+        appContext.put(StreamingDataSetHandler.ROWS_KEY_PREFIX + streamingDataSetName(tableName), rows);
+        task.setAppContext(appContext);
+    }
+
+    private void addStreamingRows(ReportDesignHandle designHandle, TableHandle table, List<String> columns) throws SemanticException {
+        ElementFactory factory = designHandle.getElementFactory();
+        registerSharedStyles(designHandle);
+        table.setStyleName(BORDERED_GRID_STYLE);
+        RowHandle header = factory.newTableRow();
+        RowHandle detail = factory.newTableRow();
+        for (String name : columns) {
+            CellHandle headerCell = factory.newCell();
+            LabelHandle label = factory.newLabel(null);
+            label.setText(name);
+            headerCell.getContent().add(label);
+            setPropertyToCell(headerCell);
+            header.getCells().add(headerCell);
+
+            CellHandle detailCell = factory.newCell();
+            DataItemHandle data = factory.newDataItem(null);
+            data.setResultSetColumn(name);
+            detailCell.getContent().add(data);
+            setPropertyToCell(detailCell);
+            detail.getCells().add(detailCell);
+        }
+        if (table.getHeader().getCount() == 0) {
+            table.getHeader().add(header);
+        }
+        table.getDetail().add(detail);
+    }
+
+    private static String streamingDataSetName(String tableName) {
+        return tableName + "Rows";
+    }
+
+    /**
+     * Keeps the wrapped stream open when the emitter closes its output, only flushing it.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Callback of {@link #forEachRow}.
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(int rowIndex, RowHandle row) throws BirtException;
+    }
+
+    /**
+     * Callback of {@link #forEachCell}.
+     */
+    @FunctionalInterface
+    public interface CellVisitor {
+        void visit(int rowIndex, int columnIndex, CellHandle cell) throws BirtException;
+    }
 
     @Getter
     public enum OutputFormat {
@@ -385,7 +1130,8 @@ public class BirtUtils {
         DOCX("docx"),
         XLSX("xlsx"),
         HTML("html"),
-        ODT("odt");
+        ODT("odt"),
+        RTF("rtf");
 
         private final String format;
 
@@ -0,0 +1,110 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.report.model.activity.ActivityStack;
+import org.eclipse.birt.report.model.api.CellHandle;
+import org.eclipse.birt.report.model.api.CommandStack;
+import org.eclipse.birt.report.model.api.ModuleHandle;
+import org.eclipse.birt.report.model.core.Module;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+/**
+ * Scope of design mutations applied without undo history, see {@link BirtUtils#bulkEdit}.
+ * <p>
+ * While the scope is open the command stack of the design keeps no undo records, so each command is dropped right
+ * after it is executed instead of being pushed and trimmed. {@link BirtUtils#createCellWithTextToRow} builds its
+ * styled cell once per scope and then only copies it and sets the text, as {@link BirtUtils#appendRows} does. Closing
+ * the scope restores the stack limit the design had before.
+ * <p>
+ * <b>Opening the scope discards the undo and redo history of the design.</b> BIRT destroys the undo records beyond
+ * the limit as soon as the limit is lowered, so the history can not survive the scope; the redo records are flushed
+ * with it. Changes made before the scope can not be undone after it.
+ * <p>
+ * The commands are deliberately not grouped into one transaction: in BIRT 4.8 a transaction holds every record and
+ * its pending notifications until commit, which made filling a grid about 30% slower than plain commands.
+ * <pre>{@code
+ * try (BulkEdit ignored = birtUtils.bulkEdit(designHandle)) {
+ *     birtUtils.createCellWithTextToRow(designHandle, row, "value");
+ * }
+ * }</pre>
+ * Like the design it edits, a scope must only be used by one thread.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class BulkEdit implements AutoCloseable {
+
+    private static final Field STACK_LIMIT = stackLimitField();
+
+    private final CommandStack commandStack;
+
+    private final Module module;
+
+    private final Map<Module, BulkEdit> openEdits;
+
+    private final boolean outermost;
+
+    private final int previousStackLimit;
+
+    private CellHandle cellTemplate;
+
+    private boolean closed;
+
+    BulkEdit(ModuleHandle designHandle, Map<Module, BulkEdit> openEdits) {
+        this.commandStack = designHandle.getCommandStack();
+        this.module = designHandle.getModule();
+        this.openEdits = openEdits;
+        this.outermost = openEdits.putIfAbsent(module, this) == null;
+        this.previousStackLimit = outermost ? stackLimitOf(commandStack) : ActivityStack.DEFAULT_STACK_LIMIT;
+        if (outermost) {
+            commandStack.flush();
+            commandStack.setStackLimit(0);
+        }
+    }
+
+    /**
+     * Ends the scope, a nested scope leaves the outer one open.
+     */
+    @Override
+    public void close() {
+        if (!closed && outermost) {
+            openEdits.remove(module, this);
+            commandStack.setStackLimit(previousStackLimit);
+        }
+        closed = true;
+    }
+
+    private static int stackLimitOf(CommandStack commandStack) {
+        // CommandStack has no getter for its limit, ActivityStack keeps it in a private field
+        if (STACK_LIMIT != null && commandStack instanceof ActivityStack) {
+            try {
+                return STACK_LIMIT.getInt(commandStack);
+            } catch (IllegalAccessException e) {
+                log.debug("Could not read the stack limit, the default is restored");
+            }
+        }
+        return ActivityStack.DEFAULT_STACK_LIMIT;
+    }
+
+    private static Field stackLimitField() {
+        try {
+            Field field = ActivityStack.class.getDeclaredField("stackLimit");
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("ActivityStack has no accessible stackLimit field, the default limit is restored");
+            return null;
+        }
+    }
+
+    CellHandle getCellTemplate() {
+        return cellTemplate;
+    }
+
+    void setCellTemplate(CellHandle cellTemplate) {
+        this.cellTemplate = cellTemplate;
+    }
+}
@@ -0,0 +1,115 @@
+package org.birtutils;
+
+import org.eclipse.birt.report.model.api.DefaultResourceLocator;
+import org.eclipse.birt.report.model.api.IModuleOption;
+import org.eclipse.birt.report.model.api.IResourceLocator;
+import org.eclipse.birt.report.model.api.ModuleHandle;
+
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resource locator serving libraries, images, style sheets and other resources referenced by designs from a
+ * {@link ResourceCache}.
+ * <p>
+ * Resources are located like the default BIRT locator does (resource folder, design folder, absolute paths) and,
+ * failing that, on the classpath. Each name is located once per design location and resource folder of the render
+ * context, the most recently used locations are kept up to a maximum count, and the returned URLs read from the
+ * cache, so repeated renders neither search nor read unchanged resources again. Install it with
+ * {@link BirtEngineManager#setResourceCache(ResourceCache)} or {@code EngineConfig.setResourceLocator}.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class CachingResourceLocator implements IResourceLocator {
+
+    /**
+     * The number of located URLs kept by default.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final IResourceLocator delegate;
+
+    private final ResourceCache resourceCache;
+
+    private final LinkedHashMap<String, URL> located;
+
+    /**
+     * @param resourceCache The cache serving the located resources.
+     */
+    public CachingResourceLocator(ResourceCache resourceCache) {
+        this(new DefaultResourceLocator(), resourceCache, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param delegate      The locator which finds resources which are not located yet.
+     * @param resourceCache The cache serving the located resources.
+     * @param maxEntries    The maximum number of located URLs, the least recently used are located again.
+     */
+    public CachingResourceLocator(IResourceLocator delegate, ResourceCache resourceCache, int maxEntries) {
+        this.delegate = delegate;
+        this.resourceCache = resourceCache;
+        this.located = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, URL> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public URL findResource(ModuleHandle moduleHandle, String fileName, int type) {
+        return findResource(moduleHandle, fileName, type, null);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public URL findResource(ModuleHandle moduleHandle, String fileName, int type, Map appContext) {
+        if (fileName == null) {
+            return null;
+        }
+        // the same name resolves differently in a render context with another resource folder
+        Object resourceFolder = appContext != null ? appContext.get(IModuleOption.RESOURCE_FOLDER_KEY) : null;
+        String key = (moduleHandle != null ? moduleHandle.getFileName() : "") + '|' + resourceFolder + '|' + type + '|'
+                + fileName;
+        URL url;
+        synchronized (located) {
+            url = located.get(key);
+        }
+        if (url == null) {
+            url = appContext != null
+                    ? delegate.findResource(moduleHandle, fileName, type, appContext)
+                    : delegate.findResource(moduleHandle, fileName, type);
+            if (url == null) {
+                url = BirtUtils.class.getResource(fileName.startsWith("/") ? fileName : "/" + fileName);
+            }
+            if (url == null) {
+                return null;
+            }
+            url = resourceCache.wrap(url);
+            synchronized (located) {
+                located.put(key, url);
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Forgets the located URLs, e.g. after resources were added or moved. Cached bytes stay in the ResourceCache.
+     */
+    public void clear() {
+        synchronized (located) {
+            located.clear();
+        }
+    }
+
+    /**
+     * @return The number of located URLs.
+     */
+    public int size() {
+        synchronized (located) {
+            return located.size();
+        }
+    }
+}
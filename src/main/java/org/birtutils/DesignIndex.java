@@ -0,0 +1,117 @@
+package org.birtutils;
+
+import org.eclipse.birt.report.model.api.CellHandle;
+import org.eclipse.birt.report.model.api.DesignElementHandle;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+import org.eclipse.birt.report.model.api.SlotHandle;
+import org.eclipse.birt.report.model.api.TextDataHandle;
+import org.eclipse.birt.report.model.api.TextItemHandle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the named grids, text items and dynamic text items of one report design.
+ * <p>
+ * The index is built by a single walk over the report body. Lookups check that the indexed element is still part of
+ * the design under the same name, so structural edits such as {@link BirtUtils#addRowToGrid} or
+ * {@link BirtUtils#addCellToRow}, drops and renames never return a stale handle; such names are looked up in the
+ * design again and re-indexed. Like the design it indexes, the index is not thread safe.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class DesignIndex {
+
+    private final ReportDesignHandle designHandle;
+
+    private final Map<String, DesignElementHandle> elements = new HashMap<>();
+
+    /**
+     * @param designHandle The ReportDesignHandle to index.
+     */
+    public DesignIndex(ReportDesignHandle designHandle) {
+        this.designHandle = designHandle;
+        indexSlot(designHandle.getBody());
+    }
+
+    /**
+     * @param name The name of the grid.
+     * @return The GridHandle with the name, or null if there is no grid with this name.
+     */
+    public GridHandle getGrid(String name) {
+        return find(name, GridHandle.class);
+    }
+
+    /**
+     * @param name The name of the text item.
+     * @return The TextItemHandle with the name, or null if there is no text item with this name.
+     */
+    public TextItemHandle getText(String name) {
+        return find(name, TextItemHandle.class);
+    }
+
+    /**
+     * @param name The name of the dynamic text item.
+     * @return The TextDataHandle with the name, or null if there is no dynamic text item with this name.
+     */
+    public TextDataHandle getDynamicText(String name) {
+        return find(name, TextDataHandle.class);
+    }
+
+    /**
+     * @return The number of indexed elements.
+     */
+    public int size() {
+        return elements.size();
+    }
+
+    private <T extends DesignElementHandle> T find(String name, Class<T> type) {
+        DesignElementHandle element = elements.get(name);
+        if (element == null || !isAttached(element, name)) {
+            element = designHandle.findElement(name);
+            if (isIndexed(element)) {
+                elements.put(name, element);
+            } else {
+                elements.remove(name);
+            }
+        }
+        return type.isInstance(element) ? type.cast(element) : null;
+    }
+
+    private boolean isAttached(DesignElementHandle element, String name) {
+        return name.equals(element.getName()) && element.getElement().getRoot() == designHandle.getModule();
+    }
+
+    private void indexSlot(SlotHandle slot) {
+        for (int i = 0; i < slot.getCount(); i++) {
+            DesignElementHandle element = slot.get(i);
+            if (isIndexed(element) && element.getName() != null) {
+                elements.put(element.getName(), element);
+            }
+            if (element instanceof GridHandle grid) {
+                indexGrid(grid);
+            }
+        }
+    }
+
+    private void indexGrid(GridHandle grid) {
+        SlotHandle rows = grid.getRows();
+        for (int i = 0; i < rows.getCount(); i++) {
+            if (rows.get(i) instanceof RowHandle row) {
+                SlotHandle cells = row.getCells();
+                for (int j = 0; j < cells.getCount(); j++) {
+                    if (cells.get(j) instanceof CellHandle cell) {
+                        indexSlot(cell.getContent());
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isIndexed(DesignElementHandle element) {
+        return element instanceof GridHandle || element instanceof TextItemHandle || element instanceof TextDataHandle;
+    }
+}
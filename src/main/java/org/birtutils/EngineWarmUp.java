@@ -0,0 +1,203 @@
+package org.birtutils;
+
+import com.ibm.icu.util.ULocale;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.eclipse.birt.report.engine.api.IRunAndRenderTask;
+import org.eclipse.birt.report.model.api.DesignConfig;
+import org.eclipse.birt.report.model.api.DesignEngine;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+import org.eclipse.birt.report.model.api.SessionHandle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Warm-up hook rendering a tiny synthetic design once per {@link BirtUtils.OutputFormat} right after engine startup.
+ * <p>
+ * Emitters, PDF font mappings, the data engine and the script engine are all loaded lazily on their first use, which
+ * makes the first render of every format several times slower than the following ones. Registered with
+ * {@link BirtEngineManager#addWarmUpHook}, this hook pays that cost before the first request: the design holds a styled
+ * grid and a table over streamed rows whose cells are script expressions, and it is rendered into a discarding stream
+ * for every format, {@code rounds} times so the hot paths also get compiled.
+ * <p>
+ * The time of every format is kept in {@link #getResults()} and {@link #isReady()} turns true once all formats
+ * supported by the engine rendered without errors, e.g. to gate a readiness probe:
+ * <pre>{@code
+ * EngineWarmUp warmUp = new EngineWarmUp(3);
+ * BirtEngineManager.getInstance().addWarmUpHook(warmUp);
+ * ...
+ * boolean ready = warmUp.isReady();
+ * }</pre>
+ * Formats without an installed emitter, e.g. RTF in the plain BIRT runtime, are reported as UNSUPPORTED and do not
+ * block readiness. A failing format is logged and keeps the hook not ready, it does not stop the engine.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class EngineWarmUp implements BirtEngineManager.WarmUpHook {
+
+    private static final String WARM_UP_TABLE = "warmUpTable";
+
+    private static final int WARM_UP_ROWS = 20;
+
+    private final int rounds;
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    private final Map<BirtUtils.OutputFormat, FormatResult> results = Collections.synchronizedMap(new EnumMap<>(BirtUtils.OutputFormat.class));
+
+    private volatile boolean ready;
+
+    /**
+     * Renders every format once.
+     */
+    public EngineWarmUp() {
+        this(1);
+    }
+
+    /**
+     * @param rounds How many times every format is rendered, at least 1.
+     */
+    public EngineWarmUp(int rounds) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Warm-up rounds must be at least 1: " + rounds);
+        }
+        this.rounds = rounds;
+    }
+
+    /**
+     * Renders the synthetic design into every format and flags readiness if none failed.
+     *
+     * @param engine The freshly started IReportEngine.
+     * @throws BirtException if the synthetic design could not be built or opened.
+     */
+    @Override
+    public void warmUp(IReportEngine engine) throws BirtException {
+        long start = System.nanoTime();
+        ready = false;
+        results.clear();
+        SessionHandle session = new DesignEngine(new DesignConfig()).newSessionHandle(ULocale.ENGLISH);
+        boolean failed = false;
+        try {
+            ReportDesignHandle designHandle = createDesign(session);
+            IReportRunnable runnable = engine.openReportDesign(designHandle);
+            Set<String> supported = new HashSet<>(Arrays.asList(engine.getSupportedFormats()));
+            for (BirtUtils.OutputFormat format : BirtUtils.OutputFormat.values()) {
+                FormatResult result = supported.contains(format.getFormat())
+                        ? warmUp(engine, runnable, format)
+                        : new FormatResult(format, Status.UNSUPPORTED, 0, 0);
+                results.put(format, result);
+                failed |= result.status() == Status.FAILED;
+                log.info("Warm-up of {}: {}", format, result);
+            }
+        } finally {
+            // closes the synthetic design with the session, it is never used again
+            try {
+                session.closeAll(false);
+            } catch (IOException e) {
+                log.warn("Could not close the warm-up design session", e);
+            }
+        }
+        ready = !failed;
+        log.info("BIRT Report engine warm-up finished in {} ms, ready: {}", (System.nanoTime() - start) / 1_000_000, ready);
+    }
+
+    /**
+     * @return true once every supported format rendered without errors.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return The warm-up result of every format, empty until the hook ran.
+     */
+    public Map<BirtUtils.OutputFormat, FormatResult> getResults() {
+        synchronized (results) {
+            return results.isEmpty() ? Map.of() : new EnumMap<>(results);
+        }
+    }
+
+    private FormatResult warmUp(IReportEngine engine, IReportRunnable runnable, BirtUtils.OutputFormat format) {
+        long firstMillis = 0;
+        long lastMillis = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            IRunAndRenderTask task = engine.createRunAndRenderTask(runnable);
+            try {
+                birtUtils.setRows(task, WARM_UP_TABLE, () -> IntStream.range(0, WARM_UP_ROWS)
+                        .mapToObj(i -> List.<Object>of("row-" + i, i * 1.5))
+                        .iterator());
+                birtUtils.setUpOutPutFormat(task, format, OutputStream.nullOutputStream());
+                task.run();
+                if (!task.getErrors().isEmpty()) {
+                    throw new BirtException("Errors while rendering: " + task.getErrors());
+                }
+            } catch (BirtException | RuntimeException e) {
+                log.error("BIRT Report engine warm-up of {} failed", format, e);
+                return new FormatResult(format, Status.FAILED, firstMillis, lastMillis);
+            } finally {
+                task.close();
+            }
+            lastMillis = (System.nanoTime() - start) / 1_000_000;
+            if (round == 0) {
+                firstMillis = lastMillis;
+            }
+        }
+        return new FormatResult(format, Status.WARM, firstMillis, lastMillis);
+    }
+
+    private ReportDesignHandle createDesign(SessionHandle session) throws BirtException {
+        ReportDesignHandle designHandle = session.createDesign();
+        try (BulkEdit ignored = birtUtils.bulkEdit(designHandle)) {
+            GridHandle grid = birtUtils.createNewGrid(designHandle, "warmUpGrid", 0, 2);
+            RowHandle row = birtUtils.createNewRow(designHandle);
+            birtUtils.createCellWithTextToRow(designHandle, row, "warm");
+            birtUtils.createCellWithTextToRow(designHandle, row, "up");
+            birtUtils.addRowToGrid(grid, row);
+            birtUtils.addNewGridToDesign(designHandle, grid);
+            birtUtils.bindTableToRows(designHandle, WARM_UP_TABLE, List.of("name", "amount"));
+        }
+        return designHandle;
+    }
+
+    /**
+     * How far a format got during warm-up.
+     */
+    public enum Status {
+        /**
+         * Rendered every round without errors.
+         */
+        WARM,
+        /**
+         * The engine has no emitter for the format.
+         */
+        UNSUPPORTED,
+        FAILED
+    }
+
+    /**
+     * Warm-up outcome of one format.
+     *
+     * @param format      The rendered OutputFormat.
+     * @param status      How far the format got.
+     * @param firstMillis The time of the first, cold render.
+     * @param lastMillis  The time of the last render, close to steady state with enough rounds.
+     */
+    public record FormatResult(BirtUtils.OutputFormat format, Status status, long firstMillis, long lastMillis) {
+    }
+}
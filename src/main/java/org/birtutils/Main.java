@@ -2,17 +2,20 @@ package org.birtutils;
 
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.birt.core.exception.BirtException;
-import org.eclipse.birt.core.framework.Platform;
 import org.eclipse.birt.report.engine.api.*;
 import org.eclipse.birt.report.model.api.GridHandle;
 import org.eclipse.birt.report.model.api.ReportDesignHandle;
 import org.eclipse.birt.report.model.api.RowHandle;
-import org.eclipse.core.internal.registry.RegistryProviderFactory;
 
-import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * @author ogbozoyan ogbozoyan@mail.ru
@@ -34,40 +37,140 @@ import java.io.OutputStream;
 @Slf4j
 public class Main {
 
-    public static void main(String[] args) throws BirtException {
+    /**
+     * Renders the jobs of a JSONL manifest, see {@link Manifest}, or the example report if no manifest is given.
+     * <pre>
+     * java org.birtutils.Main [--parallelism N] [--queue N] [--timeout SECONDS] &lt;manifest.jsonl | -&gt;
+     * </pre>
+     * The manifest is read line by line, "-" reads it from stdin. Exits with 1 if any job failed.
+     */
+    public static void main(String[] args) throws BirtException, IOException {
+        if (args.length == 0) {
+            InMemoryRenderMetrics metrics = new InMemoryRenderMetrics();
+            renderExample(metrics, Path.of("output.docx"));
+            metrics.snapshot().forEach((key, snapshot) -> log.info("{}: {}", key, snapshot));
+            BirtEngineManager.getInstance().shutdown();
+            return;
+        }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int queueCapacity = -1;
+        Duration timeout = null;
+        String manifest = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--parallelism" -> parallelism = Integer.parseInt(optionValue(args, ++i));
+                case "--queue" -> queueCapacity = Integer.parseInt(optionValue(args, ++i));
+                case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(optionValue(args, ++i)));
+                default -> manifest = args[i];
+            }
+        }
+        if (manifest == null) {
+            System.err.println("Usage: Main [--parallelism N] [--queue N] [--timeout SECONDS] <manifest.jsonl | ->");
+            System.exit(2);
+        }
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        ReportDesignCache designCache = new ReportDesignCache(reportEngine, new BirtUtils(), 64);
+        boolean stdin = manifest.equals("-");
+        Path baseDirectory = stdin ? Path.of("") : Path.of(manifest).toAbsolutePath().getParent();
+        ManifestSummary summary;
+        try (Reader reader = stdin
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Path.of(manifest), StandardCharsets.UTF_8)) {
+            summary = runManifest(reportEngine, designCache, reader, baseDirectory, parallelism,
+                    queueCapacity >= 0 ? queueCapacity : parallelism * 2, timeout);
+        }
+        summary.print(System.out);
+        BirtEngineManager.getInstance().shutdown();
+        if (summary.getFailed() > 0) {
+            System.exit(1);
+        }
+    }
 
-        IReportEngineFactory reportEngineFactory = null;
-        IReportEngine birtReportEngine = null;
+    /**
+     * Renders the jobs of a manifest as a pipeline: the calling thread reads and parses lines while the renderer
+     * threads mutate, render and write the jobs read before. The reader blocks while the render queue is full, so only
+     * the jobs in the queue are held in memory whatever the size of the manifest.
+     *
+     * @param reportEngine  The shared engine, see {@link BirtEngineManager}.
+     * @param designCache   The cache from which designs are opened.
+     * @param manifest      The Reader of the JSONL manifest.
+     * @param baseDirectory The Path against which relative outputs are resolved.
+     * @param parallelism   The maximum number of jobs rendered at the same time.
+     * @param queueCapacity The maximum number of parsed jobs waiting for a renderer.
+     * @param jobTimeout    The maximum time of a single render, null for no limit.
+     * @return The summary of the run.
+     * @throws IOException if the manifest could not be read.
+     */
+    public static ManifestSummary runManifest(IReportEngine reportEngine, ReportDesignCache designCache, Reader manifest,
+                                              Path baseDirectory, int parallelism, int queueCapacity, Duration jobTimeout) throws IOException {
+        ManifestSummary summary = new ManifestSummary();
+        BufferedReader lines = manifest instanceof BufferedReader buffered ? buffered : new BufferedReader(manifest);
+        try (BatchRenderer renderer = new BatchRenderer(reportEngine, designCache, parallelism, queueCapacity, jobTimeout, true)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                RenderJob job;
+                try {
+                    job = Manifest.parseJob(line, baseDirectory);
+                    Files.createDirectories(job.output().toAbsolutePath().getParent());
+                } catch (IllegalArgumentException | IOException e) {
+                    summary.failed(lineNumber, "Invalid manifest line: " + e.getMessage());
+                    continue;
+                }
+                long jobLine = lineNumber;
+                try {
+                    renderer.submit(job).thenAccept(result -> summary.finished(jobLine, result));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    summary.failed(jobLine, "Interrupted");
+                    break;
+                }
+            }
+        }
+        summary.stop();
+        return summary;
+    }
 
-        BirtUtils birtUtils = new BirtUtils();
+    private static String optionValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of " + args[index - 1]);
+        }
+        return args[index];
+    }
 
-        try {
+    /**
+     * Renders /example.rptdesign into a DOCX file, extending secondGrid by a row.
+     *
+     * @param metrics The RenderMetrics to which classpath loading, parsing, the grid extension, the run, the output
+     *                size and the engine errors are reported.
+     * @param output  The file the report is written to.
+     */
+    static void renderExample(RenderMetrics metrics, Path output) throws BirtException {
 
-            EngineConfig engineConfig = new EngineConfig();
+        BirtUtils birtUtils = new BirtUtils();
+        birtUtils.setMetrics(metrics);
 
-            RegistryProviderFactory.releaseDefault();
-            Platform.startup(engineConfig);
-            reportEngineFactory = (IReportEngineFactory) Platform.createFactoryObject(IReportEngineFactory.EXTENSION_REPORT_ENGINE_FACTORY);
-            birtReportEngine = reportEngineFactory.createReportEngine(engineConfig);
-            log.info("BIRT Report engine started successfully.");
-
-        } catch (BirtException e) {
-            e.printStackTrace();
-            throw new BirtException(e.getClass().getSimpleName() + ": " + e.getMessage());
-        }
+        IReportEngine birtReportEngine = BirtEngineManager.getInstance().getReportEngine();
 
         InputStream rptDesignFile;
         IRunAndRenderTask task = null;
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
         IReportRunnable runnable;
         //from resources
         String reportPath = "/example.rptdesign";
+        String format = BirtUtils.OutputFormat.DOCX.getFormat();
+        long start = System.nanoTime();
         try {
             log.debug("=========================| Strarting Rendering assign report |=========================");
             rptDesignFile = birtUtils.getReportFromClassPath(reportPath);
-            runnable = birtReportEngine.openReportDesign(rptDesignFile);
+            try (PhaseTimer ignored = PhaseTimer.start(metrics, reportPath, null, RenderPhase.DESIGN_PARSE)) {
+                runnable = birtReportEngine.openReportDesign(rptDesignFile);
+            }
             task = birtReportEngine.createRunAndRenderTask(runnable);
-            birtUtils.setUpOutPutFormat(task, BirtUtils.OutputFormat.DOCX, byteArrayOutputStream);
+            birtUtils.setUpOutPutFormat(task, BirtUtils.OutputFormat.DOCX, output);
 
             ReportDesignHandle reportDesignFromRunnable = birtUtils.getReportDesignFromRunnable(runnable);
 
@@ -82,18 +185,28 @@ public class Main {
             task.setParameterValue("parametrSecond", "Second parameter");
 
             //Dynamic extend Grid
-            RowHandle newRow = birtUtils.createNewRow(reportDesignFromRunnable);
+            try (PhaseTimer ignored = PhaseTimer.start(metrics, reportPath, format, RenderPhase.DESIGN_MUTATION)) {
+                RowHandle newRow = birtUtils.createNewRow(reportDesignFromRunnable);
 
-            birtUtils.createCellWithTextToRow(reportDesignFromRunnable, newRow, "new row wow cow pow");
-            birtUtils.addRowToGrid(secondGrid, newRow);
+                birtUtils.createCellWithTextToRow(reportDesignFromRunnable, newRow, "new row wow cow pow");
+                birtUtils.addRowToGrid(secondGrid, newRow);
+            }
+            long[] size = new long[2];
+            for (GridHandle grid : new GridHandle[]{mainGrid, secondGrid}) {
+                birtUtils.forEachRow(grid, (rowIndex, row) -> {
+                    size[0]++;
+                    size[1] += row.getCells().getCount();
+                });
+            }
+            metrics.recordDesignSize(reportPath, size[0], size[1]);
 
             //render
-            task.run();
-
-
-            try (OutputStream outFile = new FileOutputStream("output.docx")) {
-                byteArrayOutputStream.writeTo(outFile);
+            try (PhaseTimer ignored = PhaseTimer.start(metrics, reportPath, format, RenderPhase.RUN)) {
+                task.run();
             }
+            metrics.recordErrors(reportPath, format, task.getErrors().size());
+            metrics.recordOutputBytes(reportPath, format, Files.size(output));
+            metrics.recordPhase(reportPath, format, RenderPhase.TOTAL, System.nanoTime() - start);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -104,23 +217,5 @@ public class Main {
                 task.close();
             }
         }
-
-        try {
-            log.info("Shutting down BIRT Report engine...");
-            birtReportEngine.destroy();
-            log.info("BIRT Report engine destroyed successfully.");
-
-            log.info("Releasing default registry provider...");
-            RegistryProviderFactory.releaseDefault();
-            log.info("Default registry provider released successfully.");
-
-            log.info("Shutting down BIRT Platform...");
-            Platform.shutdown();
-            log.info("BIRT Platform shutdown completed successfully.");
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new BirtException(e.getClass().getSimpleName() + ": " + e.getMessage());
-        }
     }
 }
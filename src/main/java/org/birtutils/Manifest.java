@@ -0,0 +1,99 @@
+package org.birtutils;
+
+import org.eclipse.birt.report.model.api.GridHandle;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Jobs of a JSONL render manifest, one JSON object per line:
+ * <pre>
+ * {"template": "/example.rptdesign", "format": "DOCX", "output": "out/1.docx",
+ *  "parameters": {"parametrFirst": "First parameter"},
+ *  "rows": {"secondGrid": [["a", "b"], ["c", "d"]]}}
+ * </pre>
+ * {@code template}, {@code format} and {@code output} are required, a relative output is resolved against the base
+ * directory. {@code rows} maps grid names to the rows appended to them with {@link BirtUtils#appendRows}.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public final class Manifest {
+
+    private Manifest() {
+    }
+
+    /**
+     * Parses a single manifest line.
+     *
+     * @param line          The JSON object of the job.
+     * @param baseDirectory The Path against which a relative output is resolved.
+     * @return The RenderJob of the line.
+     * @throws IllegalArgumentException if the line is not a valid job.
+     */
+    public static RenderJob parseJob(String line, Path baseDirectory) {
+        if (!(Json.parse(line) instanceof Map<?, ?> job)) {
+            throw new IllegalArgumentException("A manifest line must be a JSON object");
+        }
+        String template = requireString(job, "template");
+        BirtUtils.OutputFormat format;
+        try {
+            format = BirtUtils.OutputFormat.valueOf(requireString(job, "format").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown format " + job.get("format"));
+        }
+        Path output = baseDirectory.resolve(requireString(job, "output"));
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (job.get("parameters") instanceof Map<?, ?> values) {
+            values.forEach((name, value) -> parameters.put((String) name, value));
+        } else if (job.get("parameters") != null) {
+            throw new IllegalArgumentException("\"parameters\" must be an object");
+        }
+        return new RenderJob(template, parameters, format, output, gridRows(job.get("rows")));
+    }
+
+    private static RenderJob.DesignMutation gridRows(Object rows) {
+        if (rows == null) {
+            return null;
+        }
+        if (!(rows instanceof Map<?, ?> grids)) {
+            throw new IllegalArgumentException("\"rows\" must map grid names to arrays of rows");
+        }
+        Map<String, List<List<?>>> rowsByGrid = new LinkedHashMap<>();
+        grids.forEach((name, gridRows) -> {
+            if (!(gridRows instanceof List<?> list)) {
+                throw new IllegalArgumentException("Rows of grid " + name + " must be an array");
+            }
+            List<List<?>> cells = new ArrayList<>(list.size());
+            for (Object row : list) {
+                if (!(row instanceof List<?> values)) {
+                    throw new IllegalArgumentException("Every row of grid " + name + " must be an array");
+                }
+                cells.add(values);
+            }
+            rowsByGrid.put((String) name, cells);
+        });
+        BirtUtils birtUtils = new BirtUtils();
+        return designHandle -> {
+            try (BulkEdit ignored = birtUtils.bulkEdit(designHandle)) {
+                for (Map.Entry<String, List<List<?>>> entry : rowsByGrid.entrySet()) {
+                    if (!(birtUtils.getItemByName(designHandle, entry.getKey()) instanceof GridHandle grid)) {
+                        throw new IllegalArgumentException("No grid " + entry.getKey() + " in " + designHandle.getFileName());
+                    }
+                    birtUtils.appendRows(grid, entry.getValue());
+                }
+            }
+        };
+    }
+
+    private static String requireString(Map<?, ?> job, String name) {
+        if (!(job.get(name) instanceof String value) || value.isBlank()) {
+            throw new IllegalArgumentException("Missing \"" + name + "\"");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,110 @@
+package org.birtutils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and failures of a manifest run, see {@link Main#runManifest}. Updated concurrently by the renderer threads.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class ManifestSummary {
+
+    /**
+     * Failures kept with their reason, later ones are only counted.
+     */
+    private static final int MAX_LISTED_FAILURES = 50;
+
+    private final long start = System.nanoTime();
+
+    private final AtomicLong succeeded = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong outputBytes = new AtomicLong();
+
+    private final List<String> failures = new ArrayList<>();
+
+    private volatile long elapsedNanos = -1;
+
+    public long getSucceeded() {
+        return succeeded.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getOutputBytes() {
+        return outputBytes.get();
+    }
+
+    /**
+     * @return The failures as "line N: reason", at most the first 50.
+     */
+    public synchronized List<String> getFailures() {
+        return List.copyOf(failures);
+    }
+
+    /**
+     * @return The wall time of the run so far, or of the whole run once it finished.
+     */
+    public long getElapsedMillis() {
+        long nanos = elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - start;
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * @return The rendered documents per second.
+     */
+    public double getDocumentsPerSecond() {
+        return (succeeded.get() + failed.get()) * 1000.0 / Math.max(1, getElapsedMillis());
+    }
+
+    /**
+     * Writes the summary in a human readable form.
+     */
+    public void print(PrintStream out) {
+        out.printf("Rendered %d documents in %.1f s (%.1f documents/s, %.1f MB written), %d failed%n",
+                succeeded.get(), getElapsedMillis() / 1000.0, getDocumentsPerSecond(), outputBytes.get() / 1024.0 / 1024.0, failed.get());
+        List<String> listed = getFailures();
+        listed.forEach(failure -> out.println("  " + failure));
+        if (failed.get() > listed.size()) {
+            out.println("  ... and " + (failed.get() - listed.size()) + " more");
+        }
+    }
+
+    void finished(long line, RenderResult result) {
+        if (result.isSucceeded()) {
+            succeeded.incrementAndGet();
+            try {
+                outputBytes.addAndGet(Files.size(result.output()));
+            } catch (IOException e) {
+                // the size is informational only
+            }
+            return;
+        }
+        String reason = result.error() != null
+                ? result.error().getClass().getSimpleName() + ": " + result.error().getMessage()
+                : result.status().name();
+        failed(line, result.job().reportPath() + " -> " + result.job().output() + ": " + reason);
+    }
+
+    void failed(long line, String reason) {
+        failed.incrementAndGet();
+        synchronized (this) {
+            if (failures.size() < MAX_LISTED_FAILURES) {
+                failures.add("line " + line + ": " + reason);
+            }
+        }
+    }
+
+    void stop() {
+        elapsedNanos = System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,316 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.data.engine.api.DataEngine;
+import org.eclipse.birt.report.engine.api.IEngineTask;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Admission control of renders by their estimated heap usage.
+ * <p>
+ * Every render asks for a {@link Permit} of its estimated size before its design is mutated and its engine task is
+ * created; a permit taken for the design as opened grows with the rows the mutation added, see {@link Permit#grow}.
+ * Renders are admitted in arrival order while the estimates of all renders in flight fit into the capacity, later ones wait for earlier ones
+ * to finish. A render whose estimate alone exceeds the capacity, or which waits longer than the maximum wait, is
+ * rejected with a {@link RejectedException} instead of pushing the heap into an OutOfMemoryError.
+ * <p>
+ * The estimate of a render is the fixed overhead of its format (emitter, fonts, workbook model) plus a cost per grid
+ * row of the design. The cost per row is learned from the output sizes of earlier renders of the same template and
+ * format, see {@link #record}, and is a conservative default until the first render finished. Renders into memory
+ * also count their buffered output twice, once for the buffer and once for the copy handed out.
+ * <p>
+ * A permit also bounds the memory buffer of the BIRT data engine of its task, see {@link Permit#configure}, so large
+ * result sets are spilled into the engine's temp directory instead of growing the heap.
+ * <pre>{@code
+ * MemoryBudget budget = new MemoryBudget(Runtime.getRuntime().maxMemory() / 2, Duration.ofSeconds(30));
+ * BatchRenderer renderer = new BatchRenderer(engine, designCache, 8, 100, null, true, RenderMetrics.NOOP, budget);
+ * }</pre>
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class MemoryBudget {
+
+    private static final long MB = 1024 * 1024;
+
+    private static final Map<BirtUtils.OutputFormat, Long> FORMAT_OVERHEAD = new EnumMap<>(Map.of(
+            BirtUtils.OutputFormat.PDF, 16 * MB,
+            BirtUtils.OutputFormat.XLSX, 16 * MB,
+            BirtUtils.OutputFormat.DOCX, 8 * MB,
+            BirtUtils.OutputFormat.ODT, 8 * MB,
+            BirtUtils.OutputFormat.HTML, 4 * MB,
+            BirtUtils.OutputFormat.RTF, 4 * MB));
+
+    /**
+     * Heap of the design elements of one grid row with its cells and texts.
+     */
+    private static final long DESIGN_BYTES_PER_ROW = 4 * 1024;
+
+    /**
+     * Output bytes per row assumed before a template was rendered once.
+     */
+    private static final long DEFAULT_OUTPUT_BYTES_PER_ROW = 1024;
+
+    /**
+     * Heap used by the layout engine per output byte.
+     */
+    private static final int LAYOUT_FACTOR = 2;
+
+    private static final long MIN_DATA_BUFFER_MB = 1;
+
+    private static final long WAIT_SLICE_MILLIS = 100;
+
+    private final long capacityBytes;
+
+    private final Duration maxWait;
+
+    private final long maxDataBufferMb;
+
+    private final Map<String, Double> outputBytesPerRow = new ConcurrentHashMap<>();
+
+    private final ArrayDeque<Object> waiting = new ArrayDeque<>();
+
+    private long inFlightBytes;
+
+    /**
+     * Bounds the data engine memory buffer of every task to 64 MB.
+     *
+     * @param capacityBytes The maximum estimated heap of all renders in flight.
+     * @param maxWait       The maximum time a render waits for admission, null to wait as long as it takes.
+     */
+    public MemoryBudget(long capacityBytes, Duration maxWait) {
+        this(capacityBytes, maxWait, 64 * MB);
+    }
+
+    /**
+     * @param capacityBytes        The maximum estimated heap of all renders in flight.
+     * @param maxWait              The maximum time a render waits for admission, null to wait as long as it takes.
+     * @param maxDataBufferBytes   The maximum memory buffer of the data engine of a single task, larger result sets
+     *                             are spilled to disk.
+     */
+    public MemoryBudget(long capacityBytes, Duration maxWait, long maxDataBufferBytes) {
+        if (capacityBytes <= 0 || maxDataBufferBytes < MB) {
+            throw new IllegalArgumentException("Invalid capacity " + capacityBytes + " or data buffer " + maxDataBufferBytes);
+        }
+        this.capacityBytes = capacityBytes;
+        this.maxWait = maxWait;
+        this.maxDataBufferMb = maxDataBufferBytes / MB;
+    }
+
+    /**
+     * Estimates the heap a render will use.
+     *
+     * @param template The classpath path of the design.
+     * @param format   The OutputFormat of the render.
+     * @param rows     The number of grid rows in the design.
+     * @param inMemory Whether the output is buffered in memory instead of written to a file.
+     * @return The estimated heap in bytes.
+     */
+    public long estimate(String template, BirtUtils.OutputFormat format, long rows, boolean inMemory) {
+        double outputPerRow = outputBytesPerRow.getOrDefault(key(template, format), (double) DEFAULT_OUTPUT_BYTES_PER_ROW);
+        long output = (long) (outputPerRow * (rows + 1));
+        return FORMAT_OVERHEAD.get(format) + rows * DESIGN_BYTES_PER_ROW + output * (LAYOUT_FACTOR + (inMemory ? 2 : 0));
+    }
+
+    /**
+     * Waits until the estimated heap of a render fits into the budget.
+     *
+     * @param template The classpath path of the design.
+     * @param format   The OutputFormat of the render.
+     * @param rows     The number of grid rows in the design.
+     * @param inMemory Whether the output is buffered in memory instead of written to a file.
+     * @return The permit of the render, it must be closed once the render finished.
+     * @throws RejectedException if the estimate exceeds the capacity or the render waited longer than the maximum wait.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Permit acquire(String template, BirtUtils.OutputFormat format, long rows, boolean inMemory) throws RejectedException, InterruptedException {
+        return acquire(template, format, rows, inMemory, () -> false);
+    }
+
+    /**
+     * Same as {@link #acquire(String, BirtUtils.OutputFormat, long, boolean)}, giving up as soon as the render is
+     * stopped.
+     */
+    Permit acquire(String template, BirtUtils.OutputFormat format, long rows, boolean inMemory, BooleanSupplier stopped)
+            throws RejectedException, InterruptedException {
+        long bytes = estimate(template, format, rows, inMemory);
+        if (bytes > capacityBytes) {
+            throw new RejectedException("Render of " + template + " into " + format + " needs about " + bytes / MB
+                    + " MB, more than the budget of " + capacityBytes / MB + " MB");
+        }
+        long deadline = maxWait != null ? System.nanoTime() + maxWait.toNanos() : 0;
+        Object ticket = new Object();
+        synchronized (this) {
+            waiting.addLast(ticket);
+            try {
+                // first come first served, so a large render is not starved by a stream of small ones
+                while (waiting.peekFirst() != ticket || inFlightBytes + bytes > capacityBytes) {
+                    long remaining = maxWait != null ? deadline - System.nanoTime() : Long.MAX_VALUE;
+                    if (remaining <= 0 || stopped.getAsBoolean()) {
+                        throw new RejectedException("Render of " + template + " into " + format
+                                + " was not admitted within " + maxWait + ", " + inFlightBytes / MB + " MB in flight");
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(WAIT_SLICE_MILLIS)));
+                }
+                inFlightBytes += bytes;
+            } finally {
+                waiting.remove(ticket);
+                notifyAll();
+            }
+        }
+        log.debug("Admitted render of {} into {} with an estimate of {} bytes", template, format, bytes);
+        return new Permit(template, format, inMemory, bytes);
+    }
+
+    /**
+     * Learns the output size of a finished render, used by later estimates of the same template and format.
+     *
+     * @param template    The classpath path of the design.
+     * @param format      The OutputFormat of the render.
+     * @param rows        The number of grid rows in the design.
+     * @param outputBytes The size of the rendered output.
+     */
+    public void record(String template, BirtUtils.OutputFormat format, long rows, long outputBytes) {
+        double perRow = (double) outputBytes / (rows + 1);
+        // moving average, so one unusual render does not skew the estimates for good
+        outputBytesPerRow.merge(key(template, format), perRow, (previous, current) -> previous * 0.75 + current * 0.25);
+    }
+
+    /**
+     * @return The estimated heap of the renders in flight.
+     */
+    public synchronized long getInFlightBytes() {
+        return inFlightBytes;
+    }
+
+    /**
+     * @return The number of renders waiting for admission.
+     */
+    public synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    private synchronized void release(long bytes) {
+        inFlightBytes -= bytes;
+        notifyAll();
+    }
+
+    private synchronized void take(long bytes) {
+        inFlightBytes += bytes;
+    }
+
+    private static String key(String template, BirtUtils.OutputFormat format) {
+        return template + '|' + format;
+    }
+
+    /**
+     * Share of the budget held by one render.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final String template;
+
+        private final BirtUtils.OutputFormat format;
+
+        private final boolean inMemory;
+
+        private long bytes;
+
+        private boolean released;
+
+        private Permit(String template, BirtUtils.OutputFormat format, boolean inMemory, long bytes) {
+            this.template = template;
+            this.format = format;
+            this.inMemory = inMemory;
+            this.bytes = bytes;
+        }
+
+        /**
+         * @return The estimated heap of the render in bytes.
+         */
+        public synchronized long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Raises the permit to the estimate of a design which grew after its admission, e.g. by the rows its design
+         * mutation appended. The render holds its permit already, so it does not wait in line again, which could
+         * deadlock two growing renders: the extra share is taken right away and later renders wait for it.
+         *
+         * @param rows The number of grid rows in the grown design.
+         * @throws RejectedException if the estimate of the grown design alone exceeds the capacity.
+         */
+        public void grow(long rows) throws RejectedException {
+            long grown = estimate(template, format, rows, inMemory);
+            if (grown > capacityBytes) {
+                throw new RejectedException("Render of " + template + " into " + format + " grew to about " + grown / MB
+                        + " MB, more than the budget of " + capacityBytes / MB + " MB");
+            }
+            long extra;
+            synchronized (this) {
+                if (released || grown <= bytes) {
+                    return;
+                }
+                extra = grown - bytes;
+                bytes = grown;
+            }
+            take(extra);
+        }
+
+        /**
+         * Bounds the memory buffer of the data engine of a task to a quarter of the permit, at most the maximum
+         * data buffer of the budget, so larger result sets are spilled to disk.
+         *
+         * @param task The IEngineTask of the render.
+         */
+        @SuppressWarnings("unchecked")
+        public void configure(IEngineTask task) {
+            long bufferMb = Math.max(MIN_DATA_BUFFER_MB, Math.min(maxDataBufferMb, bytes / 4 / MB));
+            Map<Object, Object> appContext = new HashMap<>(task.getAppContext());
+            appContext.put(DataEngine.MEMORY_BUFFER_SIZE, (int) bufferMb);
+            task.setAppContext(appContext);
+        }
+
+        /**
+         * Returns the share to the budget, admitting waiting renders.
+         */
+        @Override
+        public void close() {
+            long held;
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                held = bytes;
+            }
+            release(held);
+        }
+    }
+
+    /**
+     * Thrown when a render is not admitted into the budget.
+     */
+    public static class RejectedException extends BirtException {
+
+        private static final long serialVersionUID = 1L;
+
+        public RejectedException(String message) {
+            super(message);
+        }
+    }
+}
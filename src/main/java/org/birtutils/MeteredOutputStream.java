@@ -0,0 +1,59 @@
+package org.birtutils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream counting the bytes written through it and the time spent writing them.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class MeteredOutputStream extends FilterOutputStream {
+
+    private long bytes;
+
+    private long writeNanos;
+
+    public MeteredOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        long start = System.nanoTime();
+        out.write(b);
+        writeNanos += System.nanoTime() - start;
+        bytes++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        out.write(b, off, len);
+        writeNanos += System.nanoTime() - start;
+        bytes += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        long start = System.nanoTime();
+        out.flush();
+        writeNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * @return The number of bytes written so far.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return The nanoseconds spent in write and flush calls so far.
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+}
@@ -0,0 +1,46 @@
+package org.birtutils;
+
+/**
+ * Measures one render phase, reporting it to {@link RenderMetrics} and as a JFR {@link RenderPhaseEvent} on close.
+ * <pre>{@code
+ * try (PhaseTimer ignored = PhaseTimer.start(metrics, template, format, RenderPhase.RUN)) {
+ *     task.run();
+ * }
+ * }</pre>
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public final class PhaseTimer implements AutoCloseable {
+
+    private final RenderMetrics metrics;
+
+    private final RenderPhase phase;
+
+    private final RenderPhaseEvent event = new RenderPhaseEvent();
+
+    private final long start = System.nanoTime();
+
+    private PhaseTimer(RenderMetrics metrics, String template, String format, RenderPhase phase) {
+        this.metrics = metrics;
+        this.phase = phase;
+        event.template = template;
+        event.format = format;
+        event.phase = phase.name();
+        event.begin();
+    }
+
+    public static PhaseTimer start(RenderMetrics metrics, String template, String format, RenderPhase phase) {
+        return new PhaseTimer(metrics, template, format, phase);
+    }
+
+    @Override
+    public void close() {
+        long nanos = System.nanoTime() - start;
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+        metrics.recordPhase(event.template, event.format, phase, nanos);
+    }
+}
@@ -0,0 +1,60 @@
+package org.birtutils;
+
+import org.eclipse.birt.report.engine.api.IEngineTask;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stops one render from another thread, whether its engine task is running already or not created yet.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+final class RenderControl {
+
+    private final AtomicReference<IEngineTask> task = new AtomicReference<>();
+
+    private final AtomicBoolean timedOut = new AtomicBoolean();
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    /**
+     * Registers the task of the render.
+     *
+     * @return false if the render was stopped already and the task must not be run.
+     */
+    boolean attach(IEngineTask engineTask) {
+        task.set(engineTask);
+        return !isStopped();
+    }
+
+    void timeOut() {
+        timedOut.set(true);
+        stop();
+    }
+
+    void cancel() {
+        cancelled.set(true);
+        stop();
+    }
+
+    boolean isTimedOut() {
+        return timedOut.get();
+    }
+
+    boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    boolean isStopped() {
+        return timedOut.get() || cancelled.get();
+    }
+
+    private void stop() {
+        IEngineTask current = task.get();
+        if (current != null) {
+            current.cancel();
+        }
+    }
+}
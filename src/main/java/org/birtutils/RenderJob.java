@@ -0,0 +1,35 @@
+package org.birtutils;
+
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * A single report to render: which design, with which parameters, into which format and file.
+ *
+ * @param reportPath     The classpath path of the design, e.g. "/example.rptdesign".
+ * @param parameters     The report parameter values, may be empty.
+ * @param format         The OutputFormat of the rendered report.
+ * @param output         The Path of the file to which the report content will be written, null to render into
+ *                       {@link RenderResult#content()}.
+ * @param designMutation Changes applied to the private copy of the design before rendering, may be null.
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public record RenderJob(String reportPath, Map<String, ?> parameters, BirtUtils.OutputFormat format, Path output,
+                        DesignMutation designMutation) {
+
+    public RenderJob(String reportPath, Map<String, ?> parameters, BirtUtils.OutputFormat format, Path output) {
+        this(reportPath, parameters, format, output, null);
+    }
+
+    /**
+     * Mutation of a design, e.g. rows appended to a grid, applied before the report is run.
+     */
+    @FunctionalInterface
+    public interface DesignMutation {
+        void apply(ReportDesignHandle designHandle) throws BirtException;
+    }
+}
@@ -0,0 +1,33 @@
+package org.birtutils;
+
+/**
+ * Sink of render measurements, keyed by template (the design path) and output format.
+ * <p>
+ * All methods do nothing by default, so an implementation only overrides what it collects. Implementations are
+ * called concurrently from render threads and must be thread safe. Template level measurements which do not depend
+ * on a format, such as design parsing, are recorded with a null format.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ * @see InMemoryRenderMetrics
+ */
+public interface RenderMetrics {
+
+    /**
+     * Metrics which discard every measurement.
+     */
+    RenderMetrics NOOP = new RenderMetrics() {
+    };
+
+    default void recordPhase(String template, String format, RenderPhase phase, long nanos) {
+    }
+
+    default void recordOutputBytes(String template, String format, long bytes) {
+    }
+
+    default void recordDesignSize(String template, long rows, long cells) {
+    }
+
+    default void recordErrors(String template, String format, int errors) {
+    }
+}
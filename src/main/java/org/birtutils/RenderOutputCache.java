@@ -0,0 +1,381 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IEngineTask;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IRunAndRenderTask;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of rendered reports keyed by design version, parameters, format and locale.
+ * <p>
+ * Rendered documents are kept in a memory tier bounded by total size; entries pushed out of it are spilled to an
+ * optional disk tier, also bounded by size, and read back through memory mapping. Both tiers drop entries older than
+ * the time to live. Concurrent requests for the same key wait for a single render instead of rendering it again.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class RenderOutputCache {
+
+    private final ReportDesignCache designCache;
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    private final long maxMemoryBytes;
+
+    private final long maxDiskBytes;
+
+    private final long ttlMillis;
+
+    private final Path spillDirectory;
+
+    private final LinkedHashMap<CacheKey, MemoryEntry> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<CacheKey, DiskEntry> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<CacheKey, CompletableFuture<ByteBuffer>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder memoryHits = new LongAdder();
+
+    private final LongAdder diskHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private long memoryBytes;
+
+    private long diskBytes;
+
+    private long generation;
+
+    /**
+     * @param designCache    The cache from which designs are opened and their versions taken.
+     * @param maxMemoryBytes The maximum total size of documents kept in memory.
+     * @param ttl            How long a rendered document stays valid.
+     * @param spillDirectory The directory of the disk tier, null to keep documents in memory only.
+     * @param maxDiskBytes   The maximum total size of documents kept on disk, ignored without a spill directory.
+     */
+    public RenderOutputCache(ReportDesignCache designCache, long maxMemoryBytes, Duration ttl, Path spillDirectory, long maxDiskBytes) {
+        this.designCache = designCache;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.ttlMillis = ttl.toMillis();
+        this.spillDirectory = spillDirectory;
+        this.maxDiskBytes = spillDirectory != null ? maxDiskBytes : 0;
+    }
+
+    /**
+     * Returns a rendered report, rendering it only if the same design version was not rendered yet with the same
+     * parameters, format and locale.
+     *
+     * @param reportEngine The engine used to render on a miss.
+     * @param reportPath   The classpath path of the design.
+     * @param parameters   The report parameter values, may be null.
+     * @param format       The OutputFormat of the rendered report.
+     * @param locale       The locale of the task, null for the engine default.
+     * @return A read only buffer with the rendered document.
+     * @throws BirtException if the design can not be read, changed meanwhile or the report could not be rendered, a
+     *                       render whose task reported errors is not cached.
+     */
+    public ByteBuffer render(IReportEngine reportEngine, String reportPath, Map<String, ?> parameters,
+                             BirtUtils.OutputFormat format, Locale locale) throws BirtException {
+        String contentHash = designCache.getContentHash(reportPath);
+        CacheKey key = CacheKey.of(reportPath, contentHash, parameters, format, locale);
+        return getOrRender(key, outputStream -> {
+            // the version which built the key is rendered, never a newer one stored under the old key
+            IRunAndRenderTask task = reportEngine.createRunAndRenderTask(designCache.openReportDesign(reportPath, contentHash));
+            try {
+                if (parameters != null) {
+                    task.setParameterValues(parameters);
+                }
+                if (locale != null) {
+                    task.setLocale(locale);
+                }
+                birtUtils.setUpOutPutFormat(task, format, outputStream);
+                task.run();
+                // the engine collects script, data set and emitter failures instead of throwing them
+                List<?> errors = task.getErrors();
+                if (!errors.isEmpty() || task.getStatus() != IEngineTask.STATUS_SUCCEEDED) {
+                    String first = errors.isEmpty() ? "status " + task.getStatus()
+                            : errors.get(0) instanceof Throwable error ? error.getMessage() : String.valueOf(errors.get(0));
+                    throw new BirtException("Render of " + reportPath + " into " + format + " reported " + errors.size()
+                            + " errors, it is not cached: " + first);
+                }
+            } finally {
+                task.close();
+            }
+        });
+    }
+
+    /**
+     * Returns the document cached for the key or renders it with the renderer.
+     *
+     * @param key      The CacheKey of the document.
+     * @param renderer Writes the document on a miss.
+     * @return A read only buffer with the rendered document.
+     * @throws BirtException if the renderer fails.
+     */
+    public ByteBuffer getOrRender(CacheKey key, Renderer renderer) throws BirtException {
+        ByteBuffer cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<ByteBuffer> rendering = new CompletableFuture<>();
+        CompletableFuture<ByteBuffer> running = inFlight.putIfAbsent(key, rendering);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        try {
+            // another request may have stored the document between the lookup and the registration
+            cached = lookup(key);
+            if (cached == null) {
+                misses.increment();
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                renderer.render(outputStream);
+                byte[] document = outputStream.toByteArray();
+                store(key, document);
+                cached = ByteBuffer.wrap(document).asReadOnlyBuffer();
+            }
+            rendering.complete(cached);
+            return cached.duplicate();
+        } catch (BirtException | RuntimeException e) {
+            rendering.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, rendering);
+        }
+    }
+
+    /**
+     * Drops all cached documents from both tiers.
+     */
+    public void clear() {
+        List<Path> files = new ArrayList<>();
+        synchronized (this) {
+            memory.clear();
+            memoryBytes = 0;
+            for (DiskEntry entry : disk.values()) {
+                files.add(entry.path);
+            }
+            disk.clear();
+            diskBytes = 0;
+            generation++;
+        }
+        files.forEach(RenderOutputCache::deleteQuietly);
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.sum();
+    }
+
+    public long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of requests which waited for an identical render in progress instead of rendering.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public synchronized long getDiskBytes() {
+        return diskBytes;
+    }
+
+    private ByteBuffer lookup(CacheKey key) throws BirtException {
+        long now = System.currentTimeMillis();
+        DiskEntry onDisk;
+        DiskEntry expired = null;
+        synchronized (this) {
+            MemoryEntry inMemory = memory.get(key);
+            if (inMemory != null) {
+                if (now - inMemory.createdAt <= ttlMillis) {
+                    memoryHits.increment();
+                    return ByteBuffer.wrap(inMemory.document).asReadOnlyBuffer();
+                }
+                memory.remove(key);
+                memoryBytes -= inMemory.document.length;
+            }
+            onDisk = disk.get(key);
+            if (onDisk != null && now - onDisk.createdAt > ttlMillis) {
+                disk.remove(key);
+                diskBytes -= onDisk.size;
+                expired = onDisk;
+                onDisk = null;
+            }
+        }
+        if (expired != null) {
+            deleteQuietly(expired.path);
+        }
+        if (onDisk == null) {
+            return null;
+        }
+        // the file is read outside the lock, so memory hits never wait for the disk
+        try (FileChannel channel = FileChannel.open(onDisk.path, StandardOpenOption.READ)) {
+            ByteBuffer document = channel.map(FileChannel.MapMode.READ_ONLY, 0, onDisk.size);
+            diskHits.increment();
+            return document;
+        } catch (NoSuchFileException e) {
+            // evicted by another request since the lookup
+            return null;
+        } catch (IOException e) {
+            throw new BirtException("Error while reading cached document " + onDisk.path + ": " + e.getMessage());
+        }
+    }
+
+    private void store(CacheKey key, byte[] document) {
+        List<Spill> spills = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (document.length > maxMemoryBytes) {
+                spills.add(new Spill(key, document, now, generation));
+            } else {
+                MemoryEntry replaced = memory.put(key, new MemoryEntry(document, now));
+                memoryBytes += document.length - (replaced != null ? replaced.document.length : 0);
+                Iterator<Map.Entry<CacheKey, MemoryEntry>> eldest = memory.entrySet().iterator();
+                while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                    Map.Entry<CacheKey, MemoryEntry> entry = eldest.next();
+                    eldest.remove();
+                    memoryBytes -= entry.getValue().document.length;
+                    spills.add(new Spill(entry.getKey(), entry.getValue().document, entry.getValue().createdAt, generation));
+                }
+            }
+        }
+        // the evicted documents are written after releasing the lock, until then a lookup of them is a miss
+        for (Spill spill : spills) {
+            spill(spill);
+        }
+    }
+
+    private void spill(Spill spill) {
+        if (spillDirectory == null || spill.document.length > maxDiskBytes) {
+            return;
+        }
+        Path path = spillDirectory.resolve(UUID.randomUUID() + ".out");
+        try {
+            Files.createDirectories(spillDirectory);
+            Path temp = spillDirectory.resolve(path.getFileName() + ".tmp");
+            Files.write(temp, spill.document);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not spill rendered document to " + path, e);
+            return;
+        }
+        List<Path> obsolete = new ArrayList<>();
+        synchronized (this) {
+            if (spill.generation != generation) {
+                // cleared while the document was written
+                obsolete.add(path);
+            } else {
+                DiskEntry replaced = disk.put(spill.key, new DiskEntry(path, spill.document.length, spill.createdAt));
+                if (replaced != null) {
+                    diskBytes -= replaced.size;
+                    obsolete.add(replaced.path);
+                }
+                diskBytes += spill.document.length;
+                Iterator<Map.Entry<CacheKey, DiskEntry>> eldest = disk.entrySet().iterator();
+                while (diskBytes > maxDiskBytes && eldest.hasNext()) {
+                    DiskEntry entry = eldest.next().getValue();
+                    eldest.remove();
+                    diskBytes -= entry.size;
+                    obsolete.add(entry.path);
+                }
+            }
+        }
+        obsolete.forEach(RenderOutputCache::deleteQuietly);
+    }
+
+    private static ByteBuffer await(CompletableFuture<ByteBuffer> running) throws BirtException {
+        try {
+            return running.join().duplicate();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BirtException birtException) {
+                throw birtException;
+            }
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path);
+        }
+    }
+
+    /**
+     * Writes a rendered document into the output stream.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        void render(OutputStream outputStream) throws BirtException;
+    }
+
+    /**
+     * Identity of a rendered document. Parameters are normalized to a sorted map of their string values, so maps
+     * with the same values in a different order or of a different type produce equal keys.
+     */
+    public record CacheKey(String reportPath, String designHash, SortedMap<String, String> parameters, String format, String locale) {
+
+        public static CacheKey of(String reportPath, String designHash, Map<String, ?> parameters,
+                                  BirtUtils.OutputFormat format, Locale locale) {
+            SortedMap<String, String> normalized = new TreeMap<>();
+            if (parameters != null) {
+                for (Map.Entry<String, ?> parameter : parameters.entrySet()) {
+                    Object value = parameter.getValue();
+                    normalized.put(parameter.getKey(), value instanceof Object[] values ? Arrays.deepToString(values) : String.valueOf(value));
+                }
+            }
+            return new CacheKey(reportPath, designHash, Collections.unmodifiableSortedMap(normalized), format.getFormat(), locale != null ? locale.toLanguageTag() : "");
+        }
+    }
+
+    private record MemoryEntry(byte[] document, long createdAt) {
+    }
+
+    private record DiskEntry(Path path, long size, long createdAt) {
+    }
+
+    private record Spill(CacheKey key, byte[] document, long createdAt, long generation) {
+    }
+}
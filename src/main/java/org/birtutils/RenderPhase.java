@@ -0,0 +1,42 @@
+package org.birtutils;
+
+/**
+ * Phases of a render recorded by {@link RenderMetrics}.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public enum RenderPhase {
+    /**
+     * Reading the design from the classpath.
+     */
+    CLASSPATH_LOAD,
+    /**
+     * Parsing the design XML into a design handle.
+     */
+    DESIGN_PARSE,
+    /**
+     * Copying a cached design for a single render.
+     */
+    DESIGN_COPY,
+    /**
+     * Changes applied to the design before the run, e.g. rows appended to grids.
+     */
+    DESIGN_MUTATION,
+    /**
+     * {@code task.run()}, data retrieval, layout and emitting together.
+     */
+    RUN,
+    /**
+     * Time spent by the emitter writing the rendered bytes into the output, part of RUN.
+     */
+    EMITTER_OUTPUT,
+    /**
+     * {@code task.render()} of a report document written by an earlier run, see {@link BirtUtils#renderDocument}.
+     */
+    DOCUMENT_RENDER,
+    /**
+     * The whole render from opening the design to the closed output.
+     */
+    TOTAL
+}
@@ -0,0 +1,29 @@
+package org.birtutils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of one render phase, so phases can be correlated with GC and CPU samples in a flight recording.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Name("org.birtutils.RenderPhase")
+@Label("BIRT Render Phase")
+@Category("BIRT")
+@Description("A phase of a BIRT report render")
+class RenderPhaseEvent extends Event {
+
+    @Label("Template")
+    String template;
+
+    @Label("Format")
+    String format;
+
+    @Label("Phase")
+    String phase;
+}
@@ -0,0 +1,34 @@
+package org.birtutils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Outcome of a rendered {@link RenderJob}.
+ *
+ * @param job            The job which was rendered.
+ * @param status         How the render ended.
+ * @param output         The Path of the rendered file, null unless the render into a file succeeded.
+ * @param content        A read only buffer with the rendered document, null unless the render into memory succeeded.
+ * @param error          The error which failed or rejected the render, null unless the status is FAILED or REJECTED.
+ * @param durationMillis The wall time of the render including design opening.
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public record RenderResult(RenderJob job, Status status, Path output, ByteBuffer content, Throwable error, long durationMillis) {
+
+    public boolean isSucceeded() {
+        return status == Status.SUCCEEDED;
+    }
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT,
+        CANCELLED,
+        /**
+         * Not admitted by the {@link MemoryBudget}.
+         */
+        REJECTED
+    }
+}
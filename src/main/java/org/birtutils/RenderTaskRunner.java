@@ -0,0 +1,274 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IEngineTask;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.eclipse.birt.report.engine.api.IRunAndRenderTask;
+import org.eclipse.birt.report.model.api.DesignElementHandle;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.SlotHandle;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Renders a single {@link RenderJob} on the calling thread, shared by {@link BatchRenderer} and {@link AsyncRenderer}.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+final class RenderTaskRunner {
+
+    private final IReportEngine reportEngine;
+
+    private final ReportDesignCache designCache;
+
+    private final RenderMetrics metrics;
+
+    private final MemoryBudget memoryBudget;
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    RenderTaskRunner(IReportEngine reportEngine, ReportDesignCache designCache, RenderMetrics metrics) {
+        this(reportEngine, designCache, metrics, null);
+    }
+
+    /**
+     * @param memoryBudget The MemoryBudget admitting every render before its design mutation, null for no limit.
+     */
+    RenderTaskRunner(IReportEngine reportEngine, ReportDesignCache designCache, RenderMetrics metrics, MemoryBudget memoryBudget) {
+        this.reportEngine = reportEngine;
+        this.designCache = designCache;
+        this.metrics = metrics != null ? metrics : RenderMetrics.NOOP;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * @param job     The RenderJob to render.
+     * @param start   The System.nanoTime() from which the duration of the render is counted.
+     * @param control The RenderControl through which the render may be stopped.
+     * @return The result of the job, failures are returned and never thrown.
+     */
+    RenderResult render(RenderJob job, long start, RenderControl control) {
+        String template = job.reportPath();
+        String format = job.format().getFormat();
+        ByteArrayOutputStream memory = null;
+        Path partial = null;
+        IRunAndRenderTask task = null;
+        MemoryBudget.Permit permit = null;
+        try {
+            IReportRunnable runnable = designCache.openReportDesign(template);
+            ReportDesignHandle designHandle = birtUtils.getReportDesignFromRunnable(runnable);
+            // the mutation may append most of the rows, so it only runs once the design as opened is admitted
+            if (memoryBudget != null) {
+                permit = memoryBudget.acquire(template, job.format(), designSize(designHandle)[0], job.output() == null,
+                        control::isStopped);
+            }
+            if (job.designMutation() != null) {
+                try (PhaseTimer ignored = PhaseTimer.start(metrics, template, format, RenderPhase.DESIGN_MUTATION)) {
+                    job.designMutation().apply(designHandle);
+                }
+            }
+            long rows = recordDesignSize(template, designHandle);
+            if (permit != null) {
+                permit.grow(rows);
+            }
+            if (job.output() == null) {
+                // the buffer and its copy are both counted by the budget, it may never outgrow it
+                memory = memoryBudget != null ? new BoundedBuffer(memoryBudget.getCapacityBytes() / 2) : new ByteArrayOutputStream();
+            } else {
+                // the output is only replaced by a finished render, a failed one never touches the caller's file
+                partial = job.output().resolveSibling("." + job.output().getFileName() + "." + UUID.randomUUID() + ".part");
+            }
+            task = reportEngine.createRunAndRenderTask(runnable);
+            if (job.parameters() != null) {
+                task.setParameterValues(job.parameters());
+            }
+            if (permit != null) {
+                permit.configure(task);
+            }
+            try (MeteredOutputStream output = new MeteredOutputStream(memory != null
+                    ? memory : new BufferedOutputStream(Files.newOutputStream(partial)))) {
+                birtUtils.setUpOutPutFormat(task, job.format(), output);
+                if (control.attach(task)) {
+                    try (PhaseTimer ignored = PhaseTimer.start(metrics, template, format, RenderPhase.RUN)) {
+                        task.run();
+                    }
+                }
+                output.flush();
+                // a stopped render leaves no output, so it must not skew the output measurements
+                if (!control.isStopped()) {
+                    metrics.recordPhase(template, format, RenderPhase.EMITTER_OUTPUT, output.getWriteNanos());
+                    metrics.recordOutputBytes(template, format, output.getBytes());
+                    if (memoryBudget != null) {
+                        memoryBudget.record(template, job.format(), rows, output.getBytes());
+                    }
+                }
+            }
+            List<?> errors = task.getErrors();
+            metrics.recordErrors(template, format, errors.size());
+            if (control.isTimedOut()) {
+                return failed(job, RenderResult.Status.TIMED_OUT, null, start);
+            }
+            if (control.isCancelled() || task.getStatus() == IEngineTask.STATUS_CANCELLED) {
+                return failed(job, RenderResult.Status.CANCELLED, null, start);
+            }
+            if (memory instanceof BoundedBuffer buffer && buffer.isOverflowed()) {
+                MemoryBudget.RejectedException error = new MemoryBudget.RejectedException("In-memory output of " + template
+                        + " into " + format + " exceeds " + buffer.limit + " bytes, it is truncated");
+                log.warn(error.getMessage());
+                return failed(job, RenderResult.Status.REJECTED, error, start);
+            }
+            // the engine collects script, data set and emitter failures instead of throwing them, the output of such a
+            // render is incomplete and must not replace the caller's file
+            if (!errors.isEmpty()) {
+                Throwable error = errors.get(0) instanceof Throwable throwable
+                        ? throwable : new BirtException(String.valueOf(errors.get(0)));
+                log.error("Render of " + template + " into " + (job.output() != null ? job.output() : "memory")
+                        + " reported " + errors.size() + " errors", error);
+                return failed(job, RenderResult.Status.FAILED, error, start);
+            }
+            if (partial != null) {
+                moveIntoPlace(partial, job.output());
+            }
+            metrics.recordPhase(template, format, RenderPhase.TOTAL, System.nanoTime() - start);
+            ByteBuffer content = memory != null ? ByteBuffer.wrap(memory.toByteArray()).asReadOnlyBuffer() : null;
+            return new RenderResult(job, RenderResult.Status.SUCCEEDED, job.output(), content, null, millisSince(start));
+        } catch (MemoryBudget.RejectedException e) {
+            if (control.isTimedOut()) {
+                return failed(job, RenderResult.Status.TIMED_OUT, null, start);
+            }
+            if (control.isCancelled()) {
+                return failed(job, RenderResult.Status.CANCELLED, null, start);
+            }
+            log.warn(e.getMessage());
+            return failed(job, RenderResult.Status.REJECTED, e, start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(job, RenderResult.Status.CANCELLED, null, start);
+        } catch (Exception e) {
+            if (control.isTimedOut()) {
+                return failed(job, RenderResult.Status.TIMED_OUT, null, start);
+            }
+            if (control.isCancelled()) {
+                return failed(job, RenderResult.Status.CANCELLED, null, start);
+            }
+            log.error("Error while rendering " + template + " into " + (job.output() != null ? job.output() : "memory"), e);
+            metrics.recordErrors(template, format, 1);
+            return failed(job, RenderResult.Status.FAILED, e, start);
+        } finally {
+            if (task != null) {
+                task.close();
+            }
+            if (permit != null) {
+                permit.close();
+            }
+            if (partial != null) {
+                deletePartial(partial);
+            }
+        }
+    }
+
+    /**
+     * Builds the result of a job which did not succeed. Its output file is left as it was, the render only wrote into
+     * a temp file next to it.
+     */
+    RenderResult failed(RenderJob job, RenderResult.Status status, Throwable error, long start) {
+        boolean keepError = status == RenderResult.Status.FAILED || status == RenderResult.Status.REJECTED;
+        return new RenderResult(job, status, null, null, keepError ? error : null, millisSince(start));
+    }
+
+    private static void moveIntoPlace(Path partial, Path output) throws IOException {
+        try {
+            Files.move(partial, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deletePartial(Path partial) {
+        try {
+            Files.deleteIfExists(partial);
+        } catch (IOException e) {
+            log.warn("Could not delete partial output {}", partial);
+        }
+    }
+
+    static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private long recordDesignSize(String template, ReportDesignHandle designHandle) throws BirtException {
+        long[] size = designSize(designHandle);
+        metrics.recordDesignSize(template, size[0], size[1]);
+        return size[0];
+    }
+
+    /**
+     * @return The number of grid rows and cells of a design.
+     */
+    private long[] designSize(ReportDesignHandle designHandle) throws BirtException {
+        long[] size = new long[2];
+        SlotHandle body = designHandle.getBody();
+        for (int i = 0; i < body.getCount(); i++) {
+            DesignElementHandle element = body.get(i);
+            if (element instanceof GridHandle grid) {
+                birtUtils.forEachRow(grid, (rowIndex, row) -> {
+                    size[0]++;
+                    size[1] += row.getCells().getCount();
+                });
+            }
+        }
+        return size;
+    }
+
+    /**
+     * In-memory output dropping everything past its limit instead of exhausting the heap. The engine catches and logs
+     * exceptions of its emitters, so the overflow is flagged and checked once the task returned instead of thrown.
+     */
+    private static final class BoundedBuffer extends ByteArrayOutputStream {
+
+        private final long limit;
+
+        private boolean overflowed;
+
+        BoundedBuffer(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (fits(1)) {
+                super.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (fits(len)) {
+                super.write(b, off, len);
+            }
+        }
+
+        synchronized boolean isOverflowed() {
+            return overflowed;
+        }
+
+        private boolean fits(int len) {
+            overflowed |= count + (long) len > limit;
+            return !overflowed;
+        }
+    }
+}
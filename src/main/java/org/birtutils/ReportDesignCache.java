@@ -0,0 +1,280 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of parsed report designs keyed by resource path and content hash.
+ * <p>
+ * Each design is parsed once per template version and kept as a master copy which is never handed out. Every
+ * {@link #openReportDesign(String)} call returns a runnable built over a deep copy of the master, so callers are free
+ * to mutate the design (add rows to grids and so on) without affecting concurrent or later renders.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class ReportDesignCache {
+
+    private final IReportEngine reportEngine;
+
+    private final BirtUtils birtUtils;
+
+    private final Map<String, CachedDesign> designs;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile RenderMetrics metrics = RenderMetrics.NOOP;
+
+    private volatile ResourceCache resourceCache;
+
+    /**
+     * @param reportEngine The engine used to parse designs and create runnables.
+     * @param birtUtils    The BirtUtils used to read designs from the classpath.
+     * @param maxEntries   The maximum number of designs kept, least recently used are evicted first.
+     */
+    public ReportDesignCache(IReportEngine reportEngine, BirtUtils birtUtils, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.reportEngine = reportEngine;
+        this.birtUtils = birtUtils;
+        this.designs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDesign> eldest) {
+                if (size() > maxEntries) {
+                    release(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param metrics The RenderMetrics to which classpath loading, parsing and copying are reported, per template.
+     */
+    public void setMetrics(RenderMetrics metrics) {
+        this.metrics = metrics != null ? metrics : RenderMetrics.NOOP;
+    }
+
+    /**
+     * @param resourceCache The ResourceCache from which templates are read, so checking the version of an unchanged
+     *                      template reads nothing from the classpath. Null to read templates on every open.
+     */
+    public void setResourceCache(ResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * Opens a design from the classpath, parsing it only if this version of the template is not cached yet.
+     *
+     * @param reportPath The classpath path of the design, e.g. "/example.rptdesign".
+     * @return A runnable over a private copy of the design which the caller may mutate.
+     * @throws BirtException if the design can not be read or parsed.
+     */
+    public IReportRunnable openReportDesign(String reportPath) throws BirtException {
+        byte[] content = loadDesign(reportPath);
+        String contentHash = hash(content);
+
+        CachedDesign cached = cachedVersion(reportPath, contentHash);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            cached = parseVersion(reportPath, content, contentHash);
+        }
+        return copy(reportPath, cached);
+    }
+
+    /**
+     * Opens one version of a design, e.g. the one whose {@link #getContentHash} keyed a cache of rendered output, so
+     * the output can never be of another version than its key. A cached version is copied without reading the
+     * template at all.
+     *
+     * @param reportPath  The classpath path of the design.
+     * @param contentHash The version of the design.
+     * @return A runnable over a private copy of the design which the caller may mutate.
+     * @throws BirtException if the design can not be read or parsed, or the template is of another version by now.
+     */
+    public IReportRunnable openReportDesign(String reportPath, String contentHash) throws BirtException {
+        CachedDesign cached = cachedVersion(reportPath, contentHash);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            byte[] content = loadDesign(reportPath);
+            String found = hash(content);
+            if (!found.equals(contentHash)) {
+                throw new BirtException("Report design " + reportPath + " changed from version " + contentHash + " to " + found);
+            }
+            cached = parseVersion(reportPath, content, contentHash);
+        }
+        return copy(reportPath, cached);
+    }
+
+    /**
+     * Returns the version of a design as currently found on the classpath, e.g. to key caches of rendered output.
+     *
+     * @param reportPath The classpath path of the design.
+     * @return The SHA-256 of the design content as hex string.
+     * @throws BirtException if the design can not be read.
+     */
+    public String getContentHash(String reportPath) throws BirtException {
+        return hash(readDesign(reportPath));
+    }
+
+    /**
+     * Removes a design from the cache, the next open of it parses the template again.
+     *
+     * @param reportPath The classpath path of the design.
+     */
+    public void evict(String reportPath) {
+        synchronized (designs) {
+            CachedDesign removed = designs.remove(reportPath);
+            if (removed != null) {
+                release(removed);
+            }
+        }
+    }
+
+    /**
+     * Removes all designs from the cache.
+     */
+    public void clear() {
+        synchronized (designs) {
+            for (CachedDesign cached : designs.values()) {
+                release(cached);
+            }
+            designs.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (designs) {
+            return designs.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private CachedDesign cachedVersion(String reportPath, String contentHash) {
+        CachedDesign cached;
+        synchronized (designs) {
+            cached = designs.get(reportPath);
+        }
+        return cached != null && cached.contentHash.equals(contentHash) ? cached : null;
+    }
+
+    private byte[] loadDesign(String reportPath) throws BirtException {
+        try (PhaseTimer ignored = PhaseTimer.start(metrics, reportPath, null, RenderPhase.CLASSPATH_LOAD)) {
+            return readDesign(reportPath);
+        }
+    }
+
+    private CachedDesign parseVersion(String reportPath, byte[] content, String contentHash) throws BirtException {
+        misses.increment();
+        try (PhaseTimer ignored = PhaseTimer.start(metrics, reportPath, null, RenderPhase.DESIGN_PARSE)) {
+            return parse(reportPath, content, contentHash);
+        }
+    }
+
+    private IReportRunnable copy(String reportPath, CachedDesign cached) throws BirtException {
+        try (PhaseTimer ignored = PhaseTimer.start(metrics, reportPath, null, RenderPhase.DESIGN_COPY)) {
+            return reportEngine.openReportDesign(cached.copy());
+        }
+    }
+
+    private CachedDesign parse(String reportPath, byte[] content, String contentHash) throws BirtException {
+        log.debug("Parsing report design {} ({})", reportPath, contentHash);
+        IReportRunnable runnable = reportEngine.openReportDesign(new ByteArrayInputStream(content));
+        CachedDesign parsed = new CachedDesign(contentHash, birtUtils.getReportDesignFromRunnable(runnable));
+        synchronized (designs) {
+            CachedDesign current = designs.get(reportPath);
+            if (current != null && current.contentHash.equals(contentHash)) {
+                // another thread parsed the same version meanwhile, keep the one already shared
+                return current;
+            }
+            CachedDesign replaced = designs.put(reportPath, parsed);
+            if (replaced != null) {
+                release(replaced);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Masters are not closed on eviction: a concurrent request may still be copying it, and copies never reference
+     * their master, so dropping it is enough.
+     */
+    private void release(CachedDesign cached) {
+        evictions.increment();
+        log.debug("Evicted report design version {}", cached.contentHash);
+    }
+
+    private byte[] readDesign(String reportPath) throws BirtException {
+        ResourceCache cache = resourceCache;
+        try (InputStream inputStream = cache != null
+                ? birtUtils.getReportFromClassPath(reportPath, cache)
+                : birtUtils.getReportFromClassPath(reportPath)) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            log.error("Error while reading report {}", reportPath);
+            throw new BirtException("Error while reading report " + reportPath);
+        }
+    }
+
+    private static String hash(byte[] content) throws BirtException {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new BirtException("SHA-256 is not available: " + e.getMessage());
+        }
+    }
+
+    private static final class CachedDesign {
+        private final String contentHash;
+        private final ReportDesignHandle master;
+
+        private CachedDesign(String contentHash, ReportDesignHandle master) {
+            this.contentHash = contentHash;
+            this.master = master;
+        }
+
+        /**
+         * The model is not safe for concurrent reads while copying, so copies of one master are serialized.
+         */
+        private synchronized ReportDesignHandle copy() {
+            return (ReportDesignHandle) master.copy().getHandle(null);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportDocument;
+import org.eclipse.birt.report.engine.api.IReportDocumentInfo;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.eclipse.birt.report.engine.api.IRunTask;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report document (.rptdocument) from which single pages are rendered on demand, also while it is still being run.
+ * <p>
+ * The report is run once into the document with progressive viewing enabled, so the engine flushes the document at
+ * checkpoints while it generates pages. Renders of pages which are already generated start right away, renders of
+ * later pages wait until the run reaches them. A preview of page 1 of a report of thousands of pages is thus rendered
+ * after the first checkpoint instead of after the whole run, and reads and emits one page instead of all of them.
+ * <pre>{@code
+ * ReportDocumentPager pager = ReportDocumentPager.start(engine, runnable, params, document, executor);
+ * pager.renderPages(OutputFormat.HTML, "1", response, Duration.ofSeconds(30));
+ * }</pre>
+ * The document is kept after the run and after {@link #close()}, a pager over an existing document is created with
+ * {@link #ReportDocumentPager(IReportEngine, Path)}. Every render opens its own view of the document, so pages may be
+ * rendered concurrently from several threads.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class ReportDocumentPager implements AutoCloseable {
+
+    private final IReportEngine reportEngine;
+
+    private final Path document;
+
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    private volatile IRunTask runTask;
+
+    private long availablePages;
+
+    /**
+     * Pages through a complete report document, e.g. one written by {@link BirtUtils#runToDocument}.
+     *
+     * @param reportEngine The IReportEngine used to open the document.
+     * @param document     The Path of the report document.
+     * @throws BirtException if the document could not be opened.
+     */
+    public ReportDocumentPager(IReportEngine reportEngine, Path document) throws BirtException {
+        this.reportEngine = reportEngine;
+        this.document = document;
+        this.availablePages = countPages(reportEngine, document);
+        completion.complete(availablePages);
+    }
+
+    private ReportDocumentPager(IReportEngine reportEngine, Path document, IRunTask runTask) {
+        this.reportEngine = reportEngine;
+        this.document = document;
+        this.runTask = runTask;
+    }
+
+    /**
+     * Starts running a report into a document in the background.
+     *
+     * @param reportEngine The IReportEngine used to create the task and open the document.
+     * @param runnable     The IReportRunnable of the design to run.
+     * @param parameters   The report parameter values, may be null.
+     * @param document     The Path of the report document to write, it is kept after the run.
+     * @param executor     The Executor on which the report is run.
+     * @return The pager of the document being generated.
+     */
+    public static ReportDocumentPager start(IReportEngine reportEngine, IReportRunnable runnable, Map<String, ?> parameters,
+                                            Path document, Executor executor) {
+        IRunTask task = reportEngine.createRunTask(runnable);
+        if (parameters != null) {
+            task.setParameterValues(parameters);
+        }
+        return start(reportEngine, task, document, executor);
+    }
+
+    /**
+     * Starts running a prepared task into a document in the background, e.g. one with rows set by
+     * {@link BirtUtils#setRows}. The task is closed by the pager once the run ends.
+     *
+     * @param reportEngine The IReportEngine used to open the document.
+     * @param task         The IRunTask to run, with its parameters and app context set.
+     * @param document     The Path of the report document to write, it is kept after the run.
+     * @param executor     The Executor on which the report is run.
+     * @return The pager of the document being generated.
+     */
+    public static ReportDocumentPager start(IReportEngine reportEngine, IRunTask task, Path document, Executor executor) {
+        ReportDocumentPager pager = new ReportDocumentPager(reportEngine, document, task);
+        task.enableProgressiveViewing(true);
+        task.setPageHandler(pager::onPage);
+        try {
+            executor.execute(pager::run);
+        } catch (RejectedExecutionException e) {
+            pager.runTask = null;
+            task.close();
+            pager.completion.completeExceptionally(e);
+        }
+        return pager;
+    }
+
+    /**
+     * Renders pages of the document, waiting until the run generated the last of them.
+     *
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param pageRange    The pages to render, 1 based, e.g. "1", "3-5" or "1,4-6". Pages past the end of the
+     *                     finished document are skipped.
+     * @param outputStream The OutputStream to which the report content will be written.
+     * @param timeout      The maximum time to wait for the pages, null to wait as long as the run takes.
+     * @throws BirtException if the run failed, the pages were not generated in time or could not be rendered.
+     */
+    public void renderPages(BirtUtils.OutputFormat format, String pageRange, OutputStream outputStream, Duration timeout) throws BirtException {
+        awaitPage(lastPage(pageRange), System.nanoTime(), timeout);
+        birtUtils.renderDocumentPages(reportEngine, document, format, pageRange, outputStream);
+    }
+
+    /**
+     * Renders a single page of the document, waiting until the run generated it.
+     *
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param page         The 1 based number of the page.
+     * @param outputStream The OutputStream to which the report content will be written.
+     * @param timeout      The maximum time to wait for the page, null to wait as long as the run takes.
+     * @throws BirtException if the run failed, the page was not generated in time or could not be rendered.
+     */
+    public void renderPage(BirtUtils.OutputFormat format, long page, OutputStream outputStream, Duration timeout) throws BirtException {
+        renderPages(format, String.valueOf(page), outputStream, timeout);
+    }
+
+    /**
+     * Renders the page holding a bookmark, e.g. the target of a table of contents entry. A bookmark which is not
+     * generated yet is looked up again once the run finished.
+     *
+     * @param format       The OutputFormat indicating the desired format for the report output.
+     * @param bookmark     The bookmark to look up.
+     * @param outputStream The OutputStream to which the report content will be written.
+     * @param timeout      The maximum time to wait for the run in total, null to wait as long as it takes.
+     * @return The 1 based number of the rendered page, or -1 if the document has no such bookmark.
+     * @throws BirtException if the run failed or the page could not be rendered.
+     */
+    public long renderBookmark(BirtUtils.OutputFormat format, String bookmark, OutputStream outputStream, Duration timeout) throws BirtException {
+        long start = System.nanoTime();
+        awaitPage(1, start, timeout);
+        long page = birtUtils.renderDocumentBookmark(reportEngine, document, format, bookmark, outputStream);
+        if (page < 1 && !isComplete()) {
+            awaitPage(Long.MAX_VALUE, start, timeout);
+            page = birtUtils.renderDocumentBookmark(reportEngine, document, format, bookmark, outputStream);
+        }
+        return page;
+    }
+
+    /**
+     * @return The number of pages which can be rendered now.
+     */
+    public synchronized long getAvailablePages() {
+        return availablePages;
+    }
+
+    /**
+     * @return true once the run ended, successfully or not.
+     */
+    public boolean isComplete() {
+        return completion.isDone();
+    }
+
+    /**
+     * @return A future completed with the page count of the finished document.
+     */
+    public CompletableFuture<Long> getCompletion() {
+        return completion.copy();
+    }
+
+    public Path getDocument() {
+        return document;
+    }
+
+    /**
+     * Cancels the run if it is still going, the document itself is kept.
+     */
+    @Override
+    public void close() {
+        IRunTask task = runTask;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    private void run() {
+        IRunTask task = runTask;
+        try {
+            task.run(document.toAbsolutePath().toString());
+            if (task.getStatus() == IRunTask.STATUS_CANCELLED) {
+                fail(new BirtException("Run of report document " + document + " was cancelled"));
+                return;
+            }
+            long pages = countPages(reportEngine, document);
+            synchronized (this) {
+                // completed before the waiters are woken, so an untimed wait sees the end of the run
+                availablePages = pages;
+                completion.complete(pages);
+                notifyAll();
+            }
+            log.debug("Report document {} generated with {} pages", document, pages);
+        } catch (Exception e) {
+            log.error("Error while running report document " + document, e);
+            fail(e);
+        } finally {
+            runTask = null;
+            task.close();
+        }
+    }
+
+    private void fail(Exception e) {
+        synchronized (this) {
+            completion.completeExceptionally(e);
+            notifyAll();
+        }
+    }
+
+    private void onPage(int pageNumber, boolean checkpoint, IReportDocumentInfo documentInfo) {
+        // only pages up to a checkpoint are flushed into the document and readable by a render
+        if (checkpoint) {
+            synchronized (this) {
+                availablePages = pageNumber;
+                notifyAll();
+            }
+        }
+    }
+
+    private void awaitPage(long page, long start, Duration timeout) throws BirtException {
+        // the remaining time is measured from start, a deadline of start + timeout could overflow
+        long timeoutNanos = timeout != null ? TimeUnit.NANOSECONDS.convert(timeout) : 0;
+        synchronized (this) {
+            while (availablePages < page && !completion.isDone()) {
+                try {
+                    if (timeout == null) {
+                        wait();
+                        continue;
+                    }
+                    long remaining = timeoutNanos - (System.nanoTime() - start);
+                    if (remaining <= 0) {
+                        throw new BirtException("Page " + page + " of report document " + document + " was not generated within " + timeout);
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new BirtException("Interrupted while waiting for page " + page + " of report document " + document);
+                }
+            }
+        }
+        if (completion.isCompletedExceptionally()) {
+            Throwable error = completion.handle((pages, e) -> e).join();
+            throw new BirtException("Run of report document " + document + " failed: " + error.getMessage());
+        }
+    }
+
+    private static long countPages(IReportEngine reportEngine, Path document) throws BirtException {
+        IReportDocument reportDocument = reportEngine.openReportDocument(document.toAbsolutePath().toString());
+        try {
+            return reportDocument.getPageCount();
+        } finally {
+            reportDocument.close();
+        }
+    }
+
+    private static long lastPage(String pageRange) throws BirtException {
+        long last = 0;
+        try {
+            for (String part : pageRange.split("[,-]")) {
+                if (!part.isBlank()) {
+                    last = Math.max(last, Long.parseLong(part.trim()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new BirtException("Invalid page range: " + pageRange);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,267 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memory cache of resource bytes, e.g. report templates, libraries, images and style sheets, keyed by their URL.
+ * <p>
+ * The cache is bounded by the total size of the cached resources, least recently used ones are dropped first and
+ * resources larger than the bound are read without caching. Resources on the file system can be checked for changes:
+ * with a check interval their modification time and size are compared at most once per interval and a changed file
+ * is read again. Resources inside jars are never checked, they can not change while the JVM runs.
+ * <p>
+ * URLs passed through {@link #wrap(URL)} read from the cache whenever something opens a stream on them, so they can
+ * be handed to the report engine, see {@link CachingResourceLocator}.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class ResourceCache {
+
+    private final long maxBytes;
+
+    private final long checkIntervalMillis;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, URL> classPathUrls = new ConcurrentHashMap<>();
+
+    private final URLStreamHandler handler = new CachingHandler();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private long bytes;
+
+    /**
+     * @param maxBytes      The maximum total size of cached resources.
+     * @param checkInterval How often a cached file is checked for changes, null to never check.
+     */
+    public ResourceCache(long maxBytes, Duration checkInterval) {
+        this.maxBytes = maxBytes;
+        this.checkIntervalMillis = checkInterval != null ? checkInterval.toMillis() : -1;
+    }
+
+    /**
+     * Opens a classpath resource, resolving its URL and reading its bytes only once while it is unchanged.
+     *
+     * @param name The classpath path of the resource, e.g. "/example.rptdesign".
+     * @return A stream over the cached bytes.
+     * @throws IOException if there is no such resource or it can not be read.
+     */
+    public InputStream openClassPathResource(String name) throws IOException {
+        URL url = classPathUrls.get(name);
+        if (url == null) {
+            url = BirtUtils.class.getResource(name);
+            if (url == null) {
+                throw new FileNotFoundException("Classpath resource " + name + " not found");
+            }
+            classPathUrls.put(name, url);
+        }
+        return new ByteArrayInputStream(read(url.toExternalForm()));
+    }
+
+    /**
+     * @param url The URL of a resource.
+     * @return A URL with the same location whose streams are served from this cache.
+     */
+    public URL wrap(URL url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return new URL(null, url.toExternalForm(), handler);
+        } catch (MalformedURLException e) {
+            log.warn("Could not cache resource " + url, e);
+            return url;
+        }
+    }
+
+    /**
+     * Returns the bytes of a resource, reading them only on the first access or after the file changed.
+     *
+     * @param location The external form of the resource URL.
+     * @return The bytes of the resource, they must not be modified.
+     * @throws IOException if the resource can not be read.
+     */
+    public byte[] read(String location) throws IOException {
+        long now = System.currentTimeMillis();
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(location);
+        }
+        if (cached != null && isFresh(cached, now)) {
+            hits.increment();
+            return cached.content;
+        }
+        misses.increment();
+        Entry loaded = load(location, now);
+        if (cached != null) {
+            invalidations.increment();
+            log.debug("Resource {} changed, read again", location);
+        }
+        store(location, loaded);
+        return loaded.content;
+    }
+
+    /**
+     * Drops all cached resources and resolved classpath URLs.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+        classPathUrls.clear();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of cached resources read again because their file changed.
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * @return The total size of the cached resources.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        if (entry.file == null || checkIntervalMillis < 0 || now - entry.checkedAt < checkIntervalMillis) {
+            return true;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(entry.file, BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().toMillis() != entry.lastModified || attributes.size() != entry.content.length) {
+                return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        entry.checkedAt = now;
+        return true;
+    }
+
+    private static Entry load(String location, long now) throws IOException {
+        URL url = new URL(location);
+        Path file = null;
+        long lastModified = 0;
+        if ("file".equals(url.getProtocol())) {
+            try {
+                file = Path.of(url.toURI());
+                lastModified = Files.getLastModifiedTime(file).toMillis();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                file = null;
+            }
+        }
+        try (InputStream inputStream = url.openStream()) {
+            return new Entry(inputStream.readAllBytes(), file, lastModified, now);
+        }
+    }
+
+    private synchronized void store(String location, Entry entry) {
+        Entry replaced = entries.remove(location);
+        if (replaced != null) {
+            bytes -= replaced.content.length;
+        }
+        if (entry.content.length > maxBytes) {
+            return;
+        }
+        entries.put(location, entry);
+        bytes += entry.content.length;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().content.length;
+            eldest.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] content;
+        private final Path file;
+        private final long lastModified;
+        private volatile long checkedAt;
+
+        private Entry(byte[] content, Path file, long lastModified, long checkedAt) {
+            this.content = content;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    /**
+     * Serves streams of wrapped URLs from the cache. Relative URLs resolved against a wrapped URL, e.g. an image next to
+     * a library, are wrapped too.
+     */
+    private final class CachingHandler extends URLStreamHandler {
+
+        @Override
+        protected URLConnection openConnection(URL url) {
+            return new URLConnection(url) {
+
+                private byte[] content;
+
+                @Override
+                public void connect() throws IOException {
+                    if (content == null) {
+                        content = read(url.toExternalForm());
+                        connected = true;
+                    }
+                }
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    connect();
+                    return new ByteArrayInputStream(content);
+                }
+
+                @Override
+                public long getContentLengthLong() {
+                    try {
+                        connect();
+                        return content.length;
+                    } catch (IOException e) {
+                        return -1;
+                    }
+                }
+            };
+        }
+    }
+}
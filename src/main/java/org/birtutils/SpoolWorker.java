@@ -0,0 +1,463 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render worker taking its jobs from a spool directory shared by several processes or nodes.
+ * <p>
+ * The spool holds four directories:
+ * <pre>
+ * inbox/    &lt;id&gt;.job                 jobs waiting for a worker, see {@link #submit}
+ * claimed/  &lt;id&gt;.job@&lt;worker&gt;        jobs being rendered, the suffix names the worker
+ * done/     &lt;id&gt;.job, &lt;id&gt;.status, &lt;id&gt;.&lt;format&gt;   rendered jobs, their status and output
+ * failed/   &lt;id&gt;.job, &lt;id&gt;.status   jobs which could not be rendered
+ * </pre>
+ * A worker claims a job by renaming it from inbox into claimed, the rename is atomic so exactly one worker wins it
+ * without any lock manager or broker. While rendering, the worker touches its claimed files every third of the lease.
+ * A claimed file which was not touched for a whole lease belongs to a crashed or hung worker and is renamed back into
+ * the inbox by whichever worker notices it first. A worker which lost its job this way discards its output.
+ * <p>
+ * Outputs are written into a temp file. A finished worker first renames its claimed file into done or failed, which
+ * secures the job against reclaiming, and only then moves the output into place, so a worker which lost its lease
+ * never overwrites the output of the worker which took the job over. A reader never sees a partial document and the
+ * status is published after the output. All workers need roughly synchronized clocks for the lease to work.
+ * <p>
+ * A job file is a properties file:
+ * <pre>
+ * template=/example.rptdesign
+ * format=PDF
+ * output=/reports/out.pdf            (optional, defaults to done/&lt;id&gt;.&lt;format&gt;)
+ * param.parametrFirst=First parameter
+ * </pre>
+ * A worker process is started with {@code java org.birtutils.SpoolWorker <spool> [parallelism]}.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class SpoolWorker implements AutoCloseable {
+
+    public static final String INBOX = "inbox";
+
+    public static final String CLAIMED = "claimed";
+
+    public static final String DONE = "done";
+
+    public static final String FAILED = "failed";
+
+    private static final String JOB_SUFFIX = ".job";
+
+    private static final String STATUS_SUFFIX = ".status";
+
+    private static final String PARAMETER_PREFIX = "param.";
+
+    private final Path spool;
+
+    private final String workerId;
+
+    private final int parallelism;
+
+    private final Duration lease;
+
+    private final Duration pollInterval;
+
+    private final RenderTaskRunner runner;
+
+    private final Set<Path> inProgress = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService workers;
+
+    private ScheduledExecutorService heartbeat;
+
+    private volatile boolean closed;
+
+    /**
+     * A worker with a generated id, a lease of one minute and a poll interval of half a second.
+     *
+     * @param reportEngine The shared engine, see {@link BirtEngineManager}.
+     * @param designCache  The cache from which designs are opened.
+     * @param spool        The Path of the shared spool directory, created if missing.
+     * @param parallelism  The number of jobs this worker renders at the same time.
+     * @throws IOException if the spool directories could not be created.
+     */
+    public SpoolWorker(IReportEngine reportEngine, ReportDesignCache designCache, Path spool, int parallelism) throws IOException {
+        this(reportEngine, designCache, spool, null, parallelism, Duration.ofMinutes(1), Duration.ofMillis(500), RenderMetrics.NOOP);
+    }
+
+    /**
+     * @param reportEngine The shared engine, see {@link BirtEngineManager}.
+     * @param designCache  The cache from which designs are opened.
+     * @param spool        The Path of the shared spool directory, created if missing.
+     * @param workerId     The id of this worker, unique among all workers of the spool, null to generate one.
+     * @param parallelism  The number of jobs this worker renders at the same time.
+     * @param lease        The time after which a claimed job which was not touched is given to another worker.
+     * @param pollInterval The time between two looks into an empty inbox.
+     * @param metrics      The RenderMetrics to which phase timings, output sizes and errors of every job are reported.
+     * @throws IOException if the spool directories could not be created.
+     */
+    public SpoolWorker(IReportEngine reportEngine, ReportDesignCache designCache, Path spool, String workerId, int parallelism,
+                       Duration lease, Duration pollInterval, RenderMetrics metrics) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism);
+        }
+        this.spool = spool;
+        this.workerId = (workerId != null ? workerId : ManagementFactory.getRuntimeMXBean().getName() + "-"
+                + UUID.randomUUID().toString().substring(0, 8)).replaceAll("[^A-Za-z0-9._-]", "_");
+        this.parallelism = parallelism;
+        this.lease = lease;
+        this.pollInterval = pollInterval;
+        this.runner = new RenderTaskRunner(reportEngine, designCache, metrics);
+        for (String directory : List.of(INBOX, CLAIMED, DONE, FAILED)) {
+            Files.createDirectories(spool.resolve(directory));
+        }
+    }
+
+    /**
+     * Queues a job into the inbox of a spool.
+     *
+     * @param spool The Path of the spool directory.
+     * @param id    The id of the job, unique within the spool, it names the job, status and output files.
+     * @param job   The RenderJob to queue, its design mutation is ignored and its parameters are stored as strings.
+     * @return The Path of the queued job file.
+     * @throws IOException if the job could not be written or a job with the same id is queued already.
+     */
+    public static Path submit(Path spool, String id, RenderJob job) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("template", job.reportPath());
+        properties.setProperty("format", job.format().name());
+        if (job.output() != null) {
+            properties.setProperty("output", job.output().toAbsolutePath().toString());
+        }
+        if (job.parameters() != null) {
+            job.parameters().forEach((name, value) -> properties.setProperty(PARAMETER_PREFIX + name, String.valueOf(value)));
+        }
+        Path inbox = Files.createDirectories(spool.resolve(INBOX));
+        Path target = inbox.resolve(id + JOB_SUFFIX);
+        if (Files.exists(target)) {
+            throw new FileAlreadyExistsException(target.toString());
+        }
+        Path temp = writeTemp(inbox, id + JOB_SUFFIX, properties);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    /**
+     * Reads the status of a finished job.
+     *
+     * @param spool The Path of the spool directory.
+     * @param id    The id of the job.
+     * @return The status properties (status, worker, output, durationMillis and error), null while the job is not
+     * finished.
+     * @throws IOException if the status could not be read.
+     */
+    public static Properties readStatus(Path spool, String id) throws IOException {
+        for (String directory : List.of(DONE, FAILED)) {
+            Path status = spool.resolve(directory).resolve(id + STATUS_SUFFIX);
+            if (Files.exists(status)) {
+                return read(status);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts rendering jobs in the background until {@link #close()}.
+     */
+    public synchronized void start() {
+        if (workers != null) {
+            throw new IllegalStateException("Worker " + workerId + " is started already");
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(BatchRenderer.threadFactory("birt-spool-heartbeat-", true));
+        long period = Math.max(1, lease.toMillis() / 3);
+        heartbeat.scheduleAtFixedRate(this::touchInProgress, period, period, TimeUnit.MILLISECONDS);
+        workers = Executors.newFixedThreadPool(parallelism, BatchRenderer.threadFactory("birt-spool-" + workerId + "-", false));
+        for (int i = 0; i < parallelism; i++) {
+            workers.execute(this::poll);
+        }
+        log.info("Spool worker {} started on {} with {} threads", workerId, spool, parallelism);
+    }
+
+    /**
+     * Renders the jobs in the inbox on the calling thread until it is empty, reclaiming expired jobs first.
+     *
+     * @return The number of jobs rendered, successfully or not.
+     * @throws IOException if the spool could not be read.
+     */
+    public int drain() throws IOException {
+        reclaimExpired();
+        int count = 0;
+        Path claimed;
+        while (!closed && (claimed = claimNext()) != null) {
+            process(claimed);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Renames the claimed jobs whose lease expired back into the inbox.
+     *
+     * @return The number of reclaimed jobs.
+     * @throws IOException if the spool could not be read.
+     */
+    public int reclaimExpired() throws IOException {
+        long expiry = System.currentTimeMillis() - lease.toMillis();
+        int count = 0;
+        for (Path claimed : list(spool.resolve(CLAIMED))) {
+            try {
+                if (inProgress.contains(claimed) || Files.getLastModifiedTime(claimed).toMillis() > expiry) {
+                    continue;
+                }
+                Files.move(claimed, spool.resolve(INBOX).resolve(jobId(claimed) + JOB_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+                log.warn("Reclaimed job {} from worker {}", jobId(claimed), claimOwner(claimed));
+                count++;
+            } catch (NoSuchFileException | FileAlreadyExistsException e) {
+                // finished or reclaimed by another worker meanwhile
+            }
+        }
+        return count;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * Stops claiming jobs and waits for the jobs in progress to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        ExecutorService current;
+        synchronized (this) {
+            current = workers;
+        }
+        if (current != null) {
+            current.shutdown();
+            try {
+                while (!current.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.info("Waiting for spool jobs of worker {} to finish...", workerId);
+                }
+            } catch (InterruptedException e) {
+                current.shutdownNow();
+                Thread.currentThread().interrupt();
+            } finally {
+                heartbeat.shutdownNow();
+            }
+        }
+    }
+
+    private void poll() {
+        while (!closed) {
+            try {
+                if (drain() == 0) {
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error while polling spool " + spool, e);
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Path claimNext() throws IOException {
+        List<Path> jobs = list(spool.resolve(INBOX));
+        jobs.sort(Comparator.comparing(SpoolWorker::lastModified).thenComparing(Path::getFileName));
+        for (Path job : jobs) {
+            if (!job.getFileName().toString().endsWith(JOB_SUFFIX)) {
+                continue;
+            }
+            Path claimed = spool.resolve(CLAIMED).resolve(job.getFileName() + "@" + workerId);
+            try {
+                Files.move(job, claimed, StandardCopyOption.ATOMIC_MOVE);
+                // the lease starts now, not when the job was queued
+                Files.setLastModifiedTime(claimed, FileTime.fromMillis(System.currentTimeMillis()));
+                inProgress.add(claimed);
+                return claimed;
+            } catch (NoSuchFileException e) {
+                // claimed by another worker
+            }
+        }
+        return null;
+    }
+
+    private void process(Path claimed) throws IOException {
+        String id = jobId(claimed);
+        Properties properties = new Properties();
+        Path output = null;
+        Path temp = null;
+        RenderResult result;
+        long start = System.nanoTime();
+        try {
+            properties = read(claimed);
+            BirtUtils.OutputFormat format = BirtUtils.OutputFormat.valueOf(properties.getProperty("format", "").toUpperCase(Locale.ROOT));
+            String outputProperty = properties.getProperty("output");
+            output = outputProperty != null
+                    ? Path.of(outputProperty)
+                    : spool.resolve(DONE).resolve(id + "." + format.getFormat());
+            Path outputDirectory = output.toAbsolutePath().getParent();
+            Files.createDirectories(outputDirectory);
+            temp = outputDirectory.resolve("." + output.getFileName() + "." + workerId + ".tmp");
+            result = runner.render(new RenderJob(properties.getProperty("template"), parameters(properties), format, temp), start, new RenderControl());
+        } catch (Exception e) {
+            log.error("Invalid spool job " + claimed, e);
+            result = new RenderResult(null, RenderResult.Status.FAILED, null, null, e, RenderTaskRunner.millisSince(start));
+        }
+        try {
+            publish(claimed, id, result, temp, output);
+        } finally {
+            inProgress.remove(claimed);
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private void publish(Path claimed, String id, RenderResult result, Path temp, Path output) throws IOException {
+        Path target = spool.resolve(result.isSucceeded() ? DONE : FAILED);
+        Path job = target.resolve(id + JOB_SUFFIX);
+        try {
+            // once the job left claimed no other worker can reclaim it, so the output is only moved after this
+            Files.move(claimed, job, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchFileException e) {
+            log.warn("Job {} was reclaimed from worker {} after its lease expired, its result is discarded", id, workerId);
+            return;
+        }
+        if (result.isSucceeded()) {
+            try {
+                Files.move(temp, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                log.error("Could not move the output of job {} into {}", id, output, e);
+                result = new RenderResult(result.job(), RenderResult.Status.FAILED, null, null, e, result.durationMillis());
+                target = spool.resolve(FAILED);
+                Files.move(job, target.resolve(id + JOB_SUFFIX), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Properties status = new Properties();
+        status.setProperty("status", result.status().name());
+        status.setProperty("worker", workerId);
+        status.setProperty("durationMillis", String.valueOf(result.durationMillis()));
+        if (result.isSucceeded()) {
+            status.setProperty("output", output.toAbsolutePath().toString());
+        }
+        if (result.error() != null) {
+            status.setProperty("error", result.error().getClass().getSimpleName() + ": " + result.error().getMessage());
+        }
+        Path statusTemp = writeTemp(target, id + STATUS_SUFFIX, status);
+        Files.move(statusTemp, target.resolve(id + STATUS_SUFFIX), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.debug("Job {} {} by worker {} in {} ms", id, result.status(), workerId, result.durationMillis());
+    }
+
+    private void touchInProgress() {
+        FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+        for (Path claimed : inProgress) {
+            try {
+                Files.setLastModifiedTime(claimed, now);
+            } catch (IOException e) {
+                log.warn("Could not renew the lease of {}", claimed);
+            }
+        }
+    }
+
+    private static Map<String, Object> parameters(Properties properties) {
+        Map<String, Object> parameters = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(PARAMETER_PREFIX)) {
+                parameters.put(name.substring(PARAMETER_PREFIX.length()), properties.getProperty(name));
+            }
+        }
+        return parameters;
+    }
+
+    private static String jobId(Path claimed) {
+        String name = claimed.getFileName().toString();
+        return name.substring(0, name.lastIndexOf(JOB_SUFFIX + "@"));
+    }
+
+    private static String claimOwner(Path claimed) {
+        String name = claimed.getFileName().toString();
+        return name.substring(name.lastIndexOf('@') + 1);
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, entry -> !entry.getFileName().toString().startsWith("."))) {
+            stream.forEach(paths::add);
+        }
+        return paths;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static Properties read(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(path)) {
+            properties.load(input);
+        }
+        return properties;
+    }
+
+    private static Path writeTemp(Path directory, String name, Properties properties) throws IOException {
+        Path temp = directory.resolve("." + name + "." + UUID.randomUUID() + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            properties.store(output, null);
+        }
+        return temp;
+    }
+
+    public static void main(String[] args) throws BirtException, IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SpoolWorker <spool directory> [parallelism]");
+            System.exit(2);
+        }
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        SpoolWorker worker = new SpoolWorker(reportEngine, new ReportDesignCache(reportEngine, new BirtUtils(), 64),
+                Path.of(args[0]), parallelism);
+        Runtime.getRuntime().addShutdownHook(new Thread(worker::close, "birt-spool-shutdown"));
+        worker.start();
+    }
+}
@@ -0,0 +1,77 @@
+package org.birtutils;
+
+import org.eclipse.birt.report.engine.api.script.IReportContext;
+import org.eclipse.birt.report.engine.api.script.IUpdatableDataSetRow;
+import org.eclipse.birt.report.engine.api.script.ScriptException;
+import org.eclipse.birt.report.engine.api.script.eventadapter.ScriptedDataSetEventAdapter;
+import org.eclipse.birt.report.engine.api.script.instance.IDataSetInstance;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Event handler of the scripted data sets created by {@link BirtUtils#bindTableToRows}, fetching rows lazily from a
+ * Java stream put into the application context of the task by {@link BirtUtils#setRows} or
+ * {@link BirtUtils#setRowStream}.
+ * <p>
+ * The engine creates the handler by its class name for every execution of the data set, so one render pulls rows
+ * from the stream one by one while the table is laid out and never holds the whole dataset.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+public class StreamingDataSetHandler extends ScriptedDataSetEventAdapter {
+
+    /**
+     * Prefix of the application context key of a row source, followed by the data set name.
+     */
+    public static final String ROWS_KEY_PREFIX = "org.birtutils.rows.";
+
+    private Supplier<? extends Stream<? extends List<?>>> rowSource;
+
+    private Stream<? extends List<?>> stream;
+
+    private Iterator<? extends List<?>> rows;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void beforeOpen(IDataSetInstance dataSet, IReportContext reportContext) throws ScriptException {
+        Map<?, ?> appContext = reportContext.getAppContext();
+        Object source = appContext != null ? appContext.get(ROWS_KEY_PREFIX + dataSet.getName()) : null;
+        if (!(source instanceof Supplier)) {
+            throw new ScriptException("No rows are set for data set " + dataSet.getName());
+        }
+        rowSource = (Supplier<? extends Stream<? extends List<?>>>) source;
+    }
+
+    @Override
+    public void open(IDataSetInstance dataSet) throws ScriptException {
+        stream = rowSource.get();
+        rows = stream.iterator();
+    }
+
+    @Override
+    public boolean fetch(IDataSetInstance dataSet, IUpdatableDataSetRow row) throws ScriptException {
+        if (!rows.hasNext()) {
+            return false;
+        }
+        List<?> values = rows.next();
+        int column = 1;
+        for (Object value : values) {
+            row.setColumnValue(column++, value);
+        }
+        return true;
+    }
+
+    @Override
+    public void close(IDataSetInstance dataSet) {
+        if (stream != null) {
+            stream.close();
+        }
+        stream = null;
+        rows = null;
+    }
+}
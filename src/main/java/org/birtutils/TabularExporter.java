@@ -0,0 +1,501 @@
+package org.birtutils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.model.api.CellHandle;
+import org.eclipse.birt.report.model.api.ComputedColumnHandle;
+import org.eclipse.birt.report.model.api.DataItemHandle;
+import org.eclipse.birt.report.model.api.DesignElementHandle;
+import org.eclipse.birt.report.model.api.Expression;
+import org.eclipse.birt.report.model.api.ExpressionType;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.LabelHandle;
+import org.eclipse.birt.report.model.api.ParameterHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.ReportItemHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+import org.eclipse.birt.report.model.api.ScalarParameterHandle;
+import org.eclipse.birt.report.model.api.SlotHandle;
+import org.eclipse.birt.report.model.api.TextItemHandle;
+import org.eclipse.birt.report.model.api.elements.DesignChoiceConstants;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Exports purely tabular designs to XLSX or CSV without the BIRT layout engine.
+ * <p>
+ * A design is tabular if its body holds only grids, like mainGrid and secondGrid of example.rptdesign, whose cells hold
+ * only plain texts, labels and data items bound to a report parameter, and if nothing of it is decided while the report
+ * runs: no report or element scripts and no visibility rules. For such designs the cell values are read straight from
+ * the design and written row by row: XLSX through a streaming workbook which keeps only a window of rows per sheet in
+ * memory and spills the rest into temp files, CSV straight into the output stream. Every grid becomes a sheet of the
+ * workbook, resp. a block of lines of the CSV separated by an empty line.
+ * <p>
+ * Parameter values are resolved like the engine does: a missing value falls back to the default value of the
+ * parameter, a required parameter without any value and a value which does not fit the data type of the parameter
+ * fail the export.
+ * <p>
+ * Nothing of the report styles, column widths or page layout is exported. Designs which are not tabular, see
+ * {@link #isTabular}, are left to the full render, e.g. through {@link BirtUtils#renderWithFastPath}.
+ *
+ * @author ogbozoyan
+ * @since 16.10.2026
+ */
+@Slf4j
+public class TabularExporter {
+
+    private static final Pattern PARAMETER_EXPRESSION = Pattern.compile("\\s*params\\[\\s*[\"']([^\"']+)[\"']\\s*](\\.value)?\\s*;?\\s*");
+
+    private static final Pattern STRING_EXPRESSION = Pattern.compile("\\s*\"([^\"\\\\]*)\"\\s*;?\\s*");
+
+    private static final Set<String> PLAIN_DATA_TYPES = Set.of(DesignChoiceConstants.PARAM_TYPE_STRING,
+            DesignChoiceConstants.PARAM_TYPE_INTEGER, DesignChoiceConstants.PARAM_TYPE_DECIMAL,
+            DesignChoiceConstants.PARAM_TYPE_FLOAT, DesignChoiceConstants.PARAM_TYPE_BOOLEAN);
+
+    private final int rowWindow;
+
+    private final Executor executor;
+
+    /**
+     * Exports on the calling thread keeping 1000 rows per sheet in memory.
+     */
+    public TabularExporter() {
+        this(1000, null);
+    }
+
+    /**
+     * @param rowWindow The number of rows per sheet kept in memory while writing XLSX, older rows are flushed to disk.
+     * @param executor  The Executor on which the sheets of an XLSX are written in parallel, one task per grid, null to
+     *                  write them one after another on the calling thread. A design must only be read by one thread,
+     *                  so the values of all grids are read on the calling thread first and held in memory while the
+     *                  sheets are written.
+     */
+    public TabularExporter(int rowWindow, Executor executor) {
+        if (rowWindow < 1) {
+            throw new IllegalArgumentException("Invalid row window " + rowWindow);
+        }
+        this.rowWindow = rowWindow;
+        this.executor = executor;
+    }
+
+    /**
+     * Checks whether a design can be exported without the layout engine.
+     *
+     * @param designHandle The ReportDesignHandle to check.
+     * @return true if the body holds only grids of plain texts, labels and parameter bound data items, and the design
+     * has no scripts and no visibility rules.
+     */
+    public boolean isTabular(ReportDesignHandle designHandle) {
+        SlotHandle body = designHandle.getBody();
+        if (body.getCount() == 0 || hasScript(designHandle.getInitialize(), designHandle.getBeforeFactory(),
+                designHandle.getAfterFactory(), designHandle.getBeforeRender(), designHandle.getAfterRender(),
+                designHandle.getOnPrepare(), designHandle.getOnPageStart(), designHandle.getOnPageEnd())) {
+            return false;
+        }
+        for (int i = 0; i < body.getCount(); i++) {
+            if (!(body.get(i) instanceof GridHandle grid) || !isTabular(grid)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes every grid of a tabular design as a sheet of an XLSX workbook.
+     *
+     * @param designHandle The ReportDesignHandle of a tabular design.
+     * @param parameters   The report parameter values of data items bound to parameters, may be null.
+     * @param outputStream The OutputStream to which the workbook is written, it is not closed.
+     * @throws BirtException if the design is not tabular, a parameter value is missing or invalid or the workbook could
+     *                       not be written.
+     */
+    public void exportXlsx(ReportDesignHandle designHandle, Map<String, ?> parameters, OutputStream outputStream) throws BirtException {
+        List<GridHandle> grids = tabularGrids(designHandle);
+        Map<String, Object> values = resolveParameters(designHandle, parameters);
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        try {
+            // sheets are created up front, writing runs on one thread per sheet
+            List<Sheet> sheets = new ArrayList<>(grids.size());
+            Set<String> names = new HashSet<>();
+            for (GridHandle grid : grids) {
+                sheets.add(workbook.createSheet(sheetName(grid, sheets.size(), names)));
+            }
+            if (executor == null || grids.size() == 1) {
+                for (int i = 0; i < grids.size(); i++) {
+                    fillSheet(rows(grids.get(i), values), sheets.get(i));
+                }
+            } else {
+                fillSheetsInParallel(grids, sheets, values);
+            }
+            workbook.write(outputStream);
+            log.debug("Exported {} grids of {} into xlsx", grids.size(), designHandle.getFileName());
+        } catch (IOException e) {
+            throw new BirtException("Could not write xlsx of " + designHandle.getFileName() + ": " + e.getMessage());
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * Writes every grid of a tabular design as CSV, RFC 4180 quoted with CRLF line ends, grids separated by an empty
+     * line.
+     *
+     * @param designHandle The ReportDesignHandle of a tabular design.
+     * @param parameters   The report parameter values of data items bound to parameters, may be null.
+     * @param outputStream The OutputStream to which the UTF-8 text is written, it is flushed and not closed.
+     * @throws BirtException if the design is not tabular, a parameter value is missing or invalid or the text could not
+     *                       be written.
+     */
+    public void exportCsv(ReportDesignHandle designHandle, Map<String, ?> parameters, OutputStream outputStream) throws BirtException {
+        List<GridHandle> grids = tabularGrids(designHandle);
+        Map<String, Object> values = resolveParameters(designHandle, parameters);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            for (int i = 0; i < grids.size(); i++) {
+                if (i > 0) {
+                    writer.write("\r\n");
+                }
+                Iterator<List<Object>> rows = rows(grids.get(i), values);
+                while (rows.hasNext()) {
+                    writeCsvLine(writer, rows.next());
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new BirtException("Could not write csv of " + designHandle.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private void fillSheetsInParallel(List<GridHandle> grids, List<Sheet> sheets, Map<String, Object> parameters) throws BirtException {
+        // the design is not thread safe, so it is only read here and the tasks only write the sheets
+        List<List<List<Object>>> values = new ArrayList<>(grids.size());
+        for (GridHandle grid : grids) {
+            List<List<Object>> rows = new ArrayList<>(grid.getRows().getCount());
+            rows(grid, parameters).forEachRemaining(rows::add);
+            values.add(rows);
+        }
+        List<CompletableFuture<Void>> fills = new ArrayList<>(grids.size());
+        for (int i = 0; i < grids.size(); i++) {
+            List<List<Object>> rows = values.get(i);
+            Sheet sheet = sheets.get(i);
+            fills.add(CompletableFuture.runAsync(() -> fillSheet(rows.iterator(), sheet), executor));
+        }
+        try {
+            CompletableFuture.allOf(fills.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new BirtException("Could not fill xlsx sheet: " + cause.getMessage());
+        }
+    }
+
+    private void fillSheet(Iterator<List<Object>> rows, Sheet sheet) {
+        int rowIndex = 0;
+        while (rows.hasNext()) {
+            Row row = sheet.createRow(rowIndex++);
+            List<Object> values = rows.next();
+            for (int column = 0; column < values.size(); column++) {
+                Object value = values.get(column);
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(column);
+                if (value instanceof Number number) {
+                    cell.setCellValue(number.doubleValue());
+                } else if (value instanceof Boolean bool) {
+                    cell.setCellValue(bool);
+                } else {
+                    cell.setCellValue(value.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterates the rows of a grid lazily, so a large grid is never copied into a second structure.
+     */
+    private Iterator<List<Object>> rows(GridHandle grid, Map<String, ?> parameters) {
+        SlotHandle rows = grid.getRows();
+        return new Iterator<>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < rows.getCount();
+            }
+
+            @Override
+            public List<Object> next() {
+                SlotHandle cells = ((RowHandle) rows.get(index++)).getCells();
+                List<Object> values = new ArrayList<>(cells.getCount());
+                for (int i = 0; i < cells.getCount(); i++) {
+                    CellHandle cell = (CellHandle) cells.get(i);
+                    values.add(cellValue(cell, parameters));
+                    for (int span = 1; span < cell.getColumnSpan(); span++) {
+                        values.add(null);
+                    }
+                }
+                return values;
+            }
+        };
+    }
+
+    private Object cellValue(CellHandle cell, Map<String, ?> parameters) {
+        SlotHandle content = cell.getContent();
+        if (content.getCount() == 1) {
+            return itemValue(content.get(0), parameters);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < content.getCount(); i++) {
+            Object value = itemValue(content.get(i), parameters);
+            if (value != null) {
+                text.append(text.length() > 0 ? " " : "").append(value);
+            }
+        }
+        return text.length() > 0 ? text.toString() : null;
+    }
+
+    private Object itemValue(DesignElementHandle item, Map<String, ?> parameters) {
+        if (item instanceof TextItemHandle text) {
+            return text.getContent() != null ? text.getContent().trim() : null;
+        }
+        if (item instanceof LabelHandle label) {
+            return label.getText();
+        }
+        String expression = boundExpression((DataItemHandle) item);
+        Matcher parameter = PARAMETER_EXPRESSION.matcher(expression);
+        if (parameter.matches()) {
+            return parameters != null ? parameters.get(parameter.group(1)) : null;
+        }
+        Matcher string = STRING_EXPRESSION.matcher(expression);
+        return string.matches() ? string.group(1) : null;
+    }
+
+    private boolean isTabular(GridHandle grid) {
+        if (hasScriptOrVisibility(grid)) {
+            return false;
+        }
+        SlotHandle rows = grid.getRows();
+        for (int rowIndex = 0; rowIndex < rows.getCount(); rowIndex++) {
+            RowHandle row = (RowHandle) rows.get(rowIndex);
+            if (hasScript(row.getOnPrepare(), row.getOnCreate(), row.getOnRender()) || row.visibilityRulesIterator().hasNext()) {
+                return false;
+            }
+            SlotHandle cells = row.getCells();
+            for (int cellIndex = 0; cellIndex < cells.getCount(); cellIndex++) {
+                CellHandle cell = (CellHandle) cells.get(cellIndex);
+                if (hasScript(cell.getOnPrepare(), cell.getOnCreate(), cell.getOnRender())) {
+                    return false;
+                }
+                SlotHandle content = cell.getContent();
+                for (int i = 0; i < content.getCount(); i++) {
+                    if (!isTabular(content.get(i))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isTabular(DesignElementHandle item) {
+        if (!(item instanceof ReportItemHandle reportItem) || hasScriptOrVisibility(reportItem)) {
+            return false;
+        }
+        if (item instanceof LabelHandle) {
+            return true;
+        }
+        if (item instanceof TextItemHandle text) {
+            String content = text.getContent();
+            // <value-of> and <viewtime-of> tags are evaluated by the engine, HTML needs the layout to be rendered
+            return content == null || (!content.contains("<") && !"html".equals(text.getContentType()));
+        }
+        if (item instanceof DataItemHandle data) {
+            String expression = boundExpression(data);
+            if (expression == null) {
+                return false;
+            }
+            Matcher parameter = PARAMETER_EXPRESSION.matcher(expression);
+            if (parameter.matches()) {
+                return isResolvable(item.getModuleHandle().findParameter(parameter.group(1)));
+            }
+            return STRING_EXPRESSION.matcher(expression).matches();
+        }
+        return false;
+    }
+
+    /**
+     * A parameter is resolved without the engine if it is a single valued scalar of a plain data type whose default
+     * values, if any, are constants.
+     */
+    private static boolean isResolvable(ParameterHandle parameter) {
+        if (!(parameter instanceof ScalarParameterHandle scalar)
+                || DesignChoiceConstants.SCALAR_PARAM_TYPE_MULTI_VALUE.equals(scalar.getParamType())
+                || !PLAIN_DATA_TYPES.contains(scalar.getDataType())
+                || hasScript(scalar.getDefaultValueListMethod())) {
+            return false;
+        }
+        List<?> defaults = scalar.getDefaultValueList();
+        if (defaults != null) {
+            for (Object value : defaults) {
+                if (!(value instanceof Expression expression) || !ExpressionType.CONSTANT.equals(expression.getType())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the values of all scalar parameters of a design, falling back to their default values.
+     */
+    private static Map<String, Object> resolveParameters(ReportDesignHandle designHandle, Map<String, ?> parameters) throws BirtException {
+        Map<String, Object> values = new HashMap<>();
+        for (Object element : designHandle.getAllParameters()) {
+            if (!(element instanceof ScalarParameterHandle parameter)) {
+                continue;
+            }
+            String name = parameter.getName();
+            Object value = parameters != null ? parameters.get(name) : null;
+            if (value == null && isResolvable(parameter)) {
+                List<?> defaults = parameter.getDefaultValueList();
+                if (defaults != null && !defaults.isEmpty()) {
+                    value = ((Expression) defaults.get(0)).getStringExpression();
+                }
+            }
+            if (value == null) {
+                if (parameter.isRequired()) {
+                    throw new BirtException("Required parameter " + name + " of " + designHandle.getFileName() + " has no value");
+                }
+                continue;
+            }
+            values.put(name, convert(parameter, value));
+        }
+        return values;
+    }
+
+    private static Object convert(ScalarParameterHandle parameter, Object value) throws BirtException {
+        String dataType = parameter.getDataType();
+        try {
+            switch (dataType) {
+                case DesignChoiceConstants.PARAM_TYPE_INTEGER -> {
+                    return value instanceof Number number ? number.intValue() : Integer.valueOf(value.toString().trim());
+                }
+                case DesignChoiceConstants.PARAM_TYPE_DECIMAL -> {
+                    return value instanceof BigDecimal ? value : new BigDecimal(value.toString().trim());
+                }
+                case DesignChoiceConstants.PARAM_TYPE_FLOAT -> {
+                    return value instanceof Number number ? number.doubleValue() : Double.valueOf(value.toString().trim());
+                }
+                case DesignChoiceConstants.PARAM_TYPE_BOOLEAN -> {
+                    if (value instanceof Boolean) {
+                        return value;
+                    }
+                    String text = value.toString().trim();
+                    if (!"true".equalsIgnoreCase(text) && !"false".equalsIgnoreCase(text)) {
+                        throw new NumberFormatException(text);
+                    }
+                    return Boolean.valueOf(text);
+                }
+                default -> {
+                    return value;
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new BirtException("Invalid " + dataType + " value " + value + " of parameter " + parameter.getName());
+        }
+    }
+
+    private static boolean hasScriptOrVisibility(ReportItemHandle item) {
+        return hasScript(item.getOnPrepare(), item.getOnCreate(), item.getOnRender(), item.getOnPageBreak())
+                || item.visibilityRulesIterator().hasNext();
+    }
+
+    private static boolean hasScript(String... scripts) {
+        for (String script : scripts) {
+            if (script != null && !script.isBlank()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String boundExpression(DataItemHandle data) {
+        String column = data.getResultSetColumn();
+        Iterator<?> bindings = data.columnBindingsIterator();
+        while (column != null && bindings.hasNext()) {
+            ComputedColumnHandle binding = (ComputedColumnHandle) bindings.next();
+            if (column.equals(binding.getName())) {
+                return binding.getExpression();
+            }
+        }
+        return null;
+    }
+
+    private List<GridHandle> tabularGrids(ReportDesignHandle designHandle) throws BirtException {
+        if (!isTabular(designHandle)) {
+            throw new BirtException("Design " + designHandle.getFileName() + " is not purely tabular");
+        }
+        SlotHandle body = designHandle.getBody();
+        List<GridHandle> grids = new ArrayList<>(body.getCount());
+        for (int i = 0; i < body.getCount(); i++) {
+            grids.add((GridHandle) body.get(i));
+        }
+        return grids;
+    }
+
+    private static String sheetName(GridHandle grid, int index, Set<String> names) {
+        String base = WorkbookUtil.createSafeSheetName(grid.getName() != null ? grid.getName() : "Sheet" + (index + 1));
+        String name = base;
+        for (int suffix = 2; !names.add(name.toLowerCase(Locale.ROOT)); suffix++) {
+            String tail = " (" + suffix + ")";
+            name = base.substring(0, Math.min(base.length(), 31 - tail.length())) + tail;
+        }
+        return name;
+    }
+
+    private static void writeCsvLine(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
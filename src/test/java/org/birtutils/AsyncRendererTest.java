@@ -0,0 +1,106 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for AsyncRenderer.
+ */
+public class AsyncRendererTest extends TestCase {
+
+    private static final String REPORT_PATH = "/example.rptdesign";
+
+    private AsyncRenderer renderer;
+
+    @Override
+    protected void setUp() throws Exception {
+        ReportDesignCache designCache = new ReportDesignCache(BirtEngineManager.getInstance().getReportEngine(), new BirtUtils(), 4);
+        renderer = new AsyncRenderer(BirtEngineManager.getInstance().getReportEngine(), designCache);
+    }
+
+    @Override
+    protected void tearDown() {
+        renderer.close();
+    }
+
+    public void testRendersIntoMemory() throws Exception {
+        RenderResult result = renderer.renderAsync(new RenderJob(REPORT_PATH, Map.of("parametrFirst", "async"),
+                BirtUtils.OutputFormat.HTML, null)).get(60, TimeUnit.SECONDS);
+
+        assertTrue(result.isSucceeded());
+        assertNull(result.output());
+        byte[] content = new byte[result.content().remaining()];
+        result.content().get(content);
+        assertTrue(new String(content, StandardCharsets.UTF_8).contains("async"));
+    }
+
+    public void testDeadlineCompletesAsTimedOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        long start = System.nanoTime();
+        RenderResult result = renderer.renderAsync(new RenderJob(REPORT_PATH, Map.of(), BirtUtils.OutputFormat.HTML, null,
+                designHandle -> awaitQuietly(release)), Duration.ofMillis(200)).get(60, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertEquals(RenderResult.Status.TIMED_OUT, result.status());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+    }
+
+    public void testCancellingTheFutureStopsTheRender() throws Exception {
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        InMemoryRenderMetrics metrics = new InMemoryRenderMetrics();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Path directory = Files.createTempDirectory("cancel");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncRenderer cancellable = new AsyncRenderer(reportEngine, new ReportDesignCache(reportEngine, new BirtUtils(), 4),
+                executor, metrics)) {
+            CompletableFuture<RenderResult> future = cancellable.renderAsync(new RenderJob(REPORT_PATH, Map.of(),
+                    BirtUtils.OutputFormat.HTML, directory.resolve("cancelled.html"), designHandle -> {
+                started.countDown();
+                awaitQuietly(release);
+            }));
+            assertTrue(started.await(60, TimeUnit.SECONDS));
+
+            assertTrue(future.cancel(true));
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+            // the render got as far as the design mutation, its engine task was never run
+            assertEquals(1, metrics.getPhase(REPORT_PATH, "html", RenderPhase.DESIGN_MUTATION).count());
+            assertNull(metrics.getPhase(REPORT_PATH, "html", RenderPhase.RUN));
+            assertNull(metrics.getPhase(REPORT_PATH, "html", RenderPhase.TOTAL));
+            assertNull(metrics.get(REPORT_PATH, "html", InMemoryRenderMetrics.OUTPUT_BYTES));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.model.api.GridHandle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for BatchRenderer.
+ */
+public class BatchRendererTest extends TestCase {
+
+    private static final String REPORT_PATH = "/example.rptdesign";
+
+    private IReportEngine reportEngine;
+
+    private ReportDesignCache designCache;
+
+    private Path directory;
+
+    @Override
+    protected void setUp() throws Exception {
+        reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        designCache = new ReportDesignCache(reportEngine, new BirtUtils(), 4);
+        directory = Files.createTempDirectory("batch");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    public void testJobPastTheTimeoutIsTimedOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Path output = Files.writeString(directory.resolve("slow.html"), "previous");
+        try (BatchRenderer renderer = new BatchRenderer(reportEngine, designCache, 1, 0, Duration.ofMillis(200), false)) {
+            CompletableFuture<RenderResult> slow = renderer.submit(new RenderJob(REPORT_PATH, Map.of(),
+                    BirtUtils.OutputFormat.HTML, output, designHandle -> awaitQuietly(release)));
+            Thread.sleep(600);
+            release.countDown();
+            RenderResult result = slow.get(60, TimeUnit.SECONDS);
+
+            assertEquals(RenderResult.Status.TIMED_OUT, result.status());
+            assertNull(result.output());
+            // the caller's file is left as it was and no partial output remains
+            assertEquals("previous", Files.readString(output));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.count());
+            }
+        }
+    }
+
+    public void testFailingJobOnlyFailsItself() throws Exception {
+        try (BatchRenderer renderer = new BatchRenderer(reportEngine, designCache, 2, 4, null, false)) {
+            List<RenderResult> results = renderer.renderAll(List.of(
+                    job("first.html", "first"),
+                    new RenderJob("/missing.rptdesign", Map.of(), BirtUtils.OutputFormat.HTML, directory.resolve("missing.html")),
+                    new RenderJob(REPORT_PATH, Map.of(), BirtUtils.OutputFormat.HTML, directory.resolve("broken.html"), designHandle -> {
+                        throw new BirtException("broken mutation");
+                    }),
+                    job("second.html", "second")));
+
+            assertEquals(RenderResult.Status.SUCCEEDED, results.get(0).status());
+            assertEquals(RenderResult.Status.FAILED, results.get(1).status());
+            assertNotNull(results.get(1).error());
+            assertEquals(RenderResult.Status.FAILED, results.get(2).status());
+            assertEquals("broken mutation", results.get(2).error().getMessage());
+            assertEquals(RenderResult.Status.SUCCEEDED, results.get(3).status());
+            assertTrue(Files.readString(directory.resolve("first.html")).contains("first"));
+            assertTrue(Files.readString(directory.resolve("second.html")).contains("second"));
+            assertFalse(Files.exists(directory.resolve("broken.html")));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(2, files.count());
+            }
+        }
+    }
+
+    public void testScriptErrorFailsTheJob() throws Exception {
+        Path output = Files.writeString(directory.resolve("scripted.html"), "previous");
+        try (BatchRenderer renderer = new BatchRenderer(reportEngine, designCache, 1, 0, null, false)) {
+            RenderResult result = renderer.submit(new RenderJob(REPORT_PATH, Map.of(), BirtUtils.OutputFormat.HTML, output,
+                    designHandle -> ((GridHandle) new BirtUtils().getItemByName(designHandle, "mainGrid"))
+                            .setOnCreate("throw new Error('broken script');"))).get(60, TimeUnit.SECONDS);
+
+            assertEquals(RenderResult.Status.FAILED, result.status());
+            assertNotNull(result.error());
+            assertNull(result.output());
+            // the incomplete render does not replace the caller's file
+            assertEquals("previous", Files.readString(output));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.count());
+            }
+        }
+    }
+
+    public void testSubmitBlocksWhileTheQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (BatchRenderer renderer = new BatchRenderer(reportEngine, designCache, 1, 1, null, false)) {
+            CompletableFuture<RenderResult> running = renderer.submit(new RenderJob(REPORT_PATH, Map.of(),
+                    BirtUtils.OutputFormat.HTML, directory.resolve("running.html"), designHandle -> {
+                started.countDown();
+                awaitQuietly(release);
+            }));
+            assertTrue(started.await(60, TimeUnit.SECONDS));
+            CompletableFuture<RenderResult> queued = renderer.submit(job("queued.html", "queued"));
+
+            CompletableFuture<CompletableFuture<RenderResult>> blocked = new CompletableFuture<>();
+            Thread submitter = new Thread(() -> {
+                try {
+                    blocked.complete(renderer.submit(job("blocked.html", "blocked")));
+                } catch (InterruptedException e) {
+                    blocked.completeExceptionally(e);
+                }
+            });
+            submitter.start();
+            Thread.sleep(300);
+            assertFalse(blocked.isDone());
+            assertEquals(Thread.State.WAITING, submitter.getState());
+
+            release.countDown();
+            assertTrue(running.get(60, TimeUnit.SECONDS).isSucceeded());
+            assertTrue(queued.get(60, TimeUnit.SECONDS).isSucceeded());
+            assertTrue(blocked.get(60, TimeUnit.SECONDS).get(60, TimeUnit.SECONDS).isSucceeded());
+        }
+    }
+
+    public void testVirtualThreadsFallBackOnOlderJdks() throws Exception {
+        ExecutorService virtualThreads = BatchRenderer.newVirtualThreadExecutor();
+        assertEquals(Runtime.version().feature() >= 21, virtualThreads != null);
+        if (virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+
+        try (BatchRenderer renderer = new BatchRenderer(reportEngine, designCache, 2, 2, Duration.ofMinutes(1), true)) {
+            assertTrue(renderer.submit(job("virtual.html", "virtual")).get(60, TimeUnit.SECONDS).isSucceeded());
+        }
+    }
+
+    private RenderJob job(String file, String parameter) {
+        return new RenderJob(REPORT_PATH, Map.of("parametrFirst", parameter), BirtUtils.OutputFormat.HTML, directory.resolve(file));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.eclipse.birt.report.engine.api.IRunAndRenderTask;
+import org.eclipse.birt.report.model.api.CellHandle;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+import org.eclipse.birt.report.model.api.SharedStyleHandle;
+import org.eclipse.birt.report.model.api.TableHandle;
+import org.eclipse.birt.report.model.api.TextItemHandle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Unit test for BirtUtils design mutation helpers.
+ */
+public class BirtUtilsTest extends TestCase {
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    private ReportDesignHandle designHandle;
+
+    @Override
+    protected void setUp() throws Exception {
+        designHandle = birtUtils.getReportDesignFromRunnable(BirtEngineManager.getInstance().getReportEngine()
+                .openReportDesign(birtUtils.getReportFromClassPath("/example.rptdesign")));
+    }
+
+    public void testAppendRows() throws Exception {
+        GridHandle grid = (GridHandle) birtUtils.getItemByName(designHandle, "secondGrid");
+        int rowsBefore = birtUtils.getGridRows(grid).size();
+
+        int appended = birtUtils.appendRows(grid, List.of(
+                Arrays.asList("a1", "b1"),
+                Arrays.asList("a2", null),
+                List.of("a3")));
+
+        List<RowHandle> rows = birtUtils.getGridRows(grid);
+        assertEquals(3, appended);
+        assertEquals(rowsBefore + 3, rows.size());
+        assertEquals("b1", textOf(rows.get(rowsBefore), 1));
+        assertNull(textOf(rows.get(rowsBefore + 1), 1));
+        assertEquals("a3", textOf(rows.get(rowsBefore + 2), 0));
+        assertEquals(1, birtUtils.getRowCells(rows.get(rowsBefore + 2)).size());
+    }
+
+    public void testCreateCellReferencesSharedStyles() throws Exception {
+        RowHandle row = birtUtils.createNewRow(designHandle);
+        birtUtils.createCellWithTextToRow(designHandle, row, "first");
+        birtUtils.createCellWithTextToRow(designHandle, row, "second");
+
+        CellHandle cell = birtUtils.getRowCells(row).get(1);
+        assertEquals(BirtUtils.BORDERED_CELL_STYLE, cell.getStyle().getName());
+        assertEquals(BirtUtils.BODY_TEXT_STYLE, ((TextItemHandle) cell.getContent().get(0)).getStyle().getName());
+        assertEquals("solid", cell.getProperty("borderTopStyle"));
+        assertNotNull(designHandle.findStyle(BirtUtils.BORDERED_CELL_STYLE));
+        assertEquals(3, countStyles(BirtUtils.BORDERED_CELL_STYLE, BirtUtils.BODY_TEXT_STYLE, BirtUtils.BORDERED_GRID_STYLE));
+    }
+
+    public void testBulkEditBuildsTheSameCells() throws Exception {
+        GridHandle grid = (GridHandle) birtUtils.getItemByName(designHandle, "secondGrid");
+        int rowsBefore = birtUtils.getGridRows(grid).size();
+
+        try (BulkEdit ignored = birtUtils.bulkEdit(designHandle)) {
+            for (int i = 0; i < 3; i++) {
+                RowHandle row = birtUtils.createNewRow(designHandle);
+                birtUtils.createCellWithTextToRow(designHandle, row, "first " + i);
+                birtUtils.createCellWithTextToRow(designHandle, row, "second " + i);
+                birtUtils.addRowToGrid(grid, row);
+            }
+            assertFalse(designHandle.getCommandStack().canUndo());
+        }
+
+        List<RowHandle> rows = birtUtils.getGridRows(grid);
+        assertEquals(rowsBefore + 3, rows.size());
+        assertEquals("first 0", textOf(rows.get(rowsBefore), 0));
+        assertEquals("second 2", textOf(rows.get(rowsBefore + 2), 1));
+        CellHandle cell = birtUtils.getRowCells(rows.get(rowsBefore + 1)).get(1);
+        assertEquals(BirtUtils.BORDERED_CELL_STYLE, cell.getStyle().getName());
+        assertEquals(BirtUtils.BODY_TEXT_STYLE, ((TextItemHandle) cell.getContent().get(0)).getStyle().getName());
+
+        RowHandle row = birtUtils.createNewRow(designHandle);
+        birtUtils.createCellWithTextToRow(designHandle, row, "after");
+        assertTrue(designHandle.getCommandStack().canUndo());
+    }
+
+    public void testBulkEditRestoresTheStackLimit() throws Exception {
+        designHandle.getCommandStack().setStackLimit(2);
+        birtUtils.createCellWithTextToRow(designHandle, birtUtils.createNewRow(designHandle), "before");
+        assertTrue(designHandle.getCommandStack().canUndo());
+
+        try (BulkEdit ignored = birtUtils.bulkEdit(designHandle)) {
+            birtUtils.createCellWithTextToRow(designHandle, birtUtils.createNewRow(designHandle), "inside");
+        }
+        assertFalse(designHandle.getCommandStack().canUndo());
+
+        for (int i = 0; i < 3; i++) {
+            designHandle.setProperty("comments", "after " + i);
+        }
+        designHandle.getCommandStack().undo();
+        designHandle.getCommandStack().undo();
+        assertEquals("after 0", designHandle.getStringProperty("comments"));
+        assertFalse(designHandle.getCommandStack().canUndo());
+    }
+
+    public void testBindTableToRowsStreamsRowsDuringRun() throws Exception {
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        TableHandle table = birtUtils.bindTableToRows(designHandle, "streamedTable", List.of("name", "amount"));
+        assertEquals(1, table.getDetail().getCount());
+        assertEquals(table.getDataSet(), designHandle.findDataSet("streamedTableRows"));
+
+        IReportRunnable runnable = reportEngine.openReportDesign(designHandle);
+        IRunAndRenderTask task = reportEngine.createRunAndRenderTask(runnable);
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            birtUtils.setRowStream(task, "streamedTable", () -> IntStream.range(0, 1000)
+                    .mapToObj(i -> List.of("row-" + i, i * 10))
+                    .onClose(() -> closed.set(true)));
+            birtUtils.setUpOutPutFormat(task, BirtUtils.OutputFormat.HTML, output);
+            task.run();
+            assertTrue(task.getErrors().toString(), task.getErrors().isEmpty());
+        } finally {
+            task.close();
+        }
+
+        String html = output.toString(StandardCharsets.UTF_8);
+        assertTrue(html.contains("amount"));
+        assertTrue(html.contains("row-0"));
+        assertTrue(html.contains("row-999"));
+        assertEquals(1000, html.split("<div>row-", -1).length - 1);
+        assertTrue(closed.get());
+    }
+
+    public void testGzipOutputIsComplete() throws Exception {
+        for (BirtUtils.OutputFormat format : List.of(BirtUtils.OutputFormat.DOCX, BirtUtils.OutputFormat.PDF)) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            render(format, task -> birtUtils.setUpOutPutFormat(task, format, compressed, true));
+
+            ByteArrayOutputStream plain = new ByteArrayOutputStream();
+            try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+                gunzip.transferTo(plain);
+            }
+            byte[] content = plain.toByteArray();
+            if (format == BirtUtils.OutputFormat.PDF) {
+                assertTrue(new String(content, 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF-"));
+                assertTrue(new String(content, StandardCharsets.US_ASCII).trim().endsWith("%%EOF"));
+            } else {
+                assertTrue(unzippedEntry(content, "word/document.xml").contains("gzipped"));
+            }
+        }
+    }
+
+    public void testChannelOutput() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        render(BirtUtils.OutputFormat.HTML,
+                task -> birtUtils.setUpOutPutFormat(task, BirtUtils.OutputFormat.HTML, Channels.newChannel(output)));
+
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("gzipped"));
+    }
+
+    public void testRunAndRenderToFormats() throws Exception {
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        Path directory = Files.createTempDirectory("formats");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        InMemoryRenderMetrics metrics = new InMemoryRenderMetrics();
+        birtUtils.setMetrics(metrics);
+        try {
+            IReportRunnable runnable = reportEngine.openReportDesign(designHandle);
+            Map<BirtUtils.OutputFormat, Path> outputs = birtUtils.runAndRenderToFormats(reportEngine,
+                    runnable, Map.of("parametrFirst", "rendered once"),
+                    EnumSet.of(BirtUtils.OutputFormat.HTML, BirtUtils.OutputFormat.DOCX), directory, "example", executor);
+
+            assertEquals(directory.resolve("example.html"), outputs.get(BirtUtils.OutputFormat.HTML));
+            assertTrue(Files.readString(outputs.get(BirtUtils.OutputFormat.HTML)).contains("rendered once"));
+            assertTrue(unzippedEntry(Files.readAllBytes(outputs.get(BirtUtils.OutputFormat.DOCX)), "word/document.xml")
+                    .contains("rendered once"));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertTrue(files.noneMatch(file -> file.toString().endsWith(".rptdocument")));
+            }
+            String template = runnable.getReportName();
+            assertEquals(1, metrics.getPhase(template, null, RenderPhase.RUN).count());
+            assertEquals(1, metrics.getPhase(template, "html", RenderPhase.DOCUMENT_RENDER).count());
+            assertEquals(1, metrics.getPhase(template, "docx", RenderPhase.DOCUMENT_RENDER).count());
+            assertEquals(Files.size(outputs.get(BirtUtils.OutputFormat.DOCX)),
+                    metrics.get(template, "docx", InMemoryRenderMetrics.OUTPUT_BYTES).max());
+        } finally {
+            executor.shutdown();
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private int countStyles(String... names) {
+        int count = 0;
+        for (Object style : designHandle.getStyles().getContents()) {
+            if (Arrays.asList(names).contains(((SharedStyleHandle) style).getName())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void render(BirtUtils.OutputFormat format, TaskSetUp setUp) throws Exception {
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        IRunAndRenderTask task = reportEngine.createRunAndRenderTask(reportEngine.openReportDesign(designHandle));
+        try {
+            task.setParameterValue("parametrFirst", "gzipped");
+            setUp.setUp(task);
+            task.run();
+            assertTrue(format + ": " + task.getErrors(), task.getErrors().isEmpty());
+        } finally {
+            task.close();
+        }
+    }
+
+    private static String unzippedEntry(byte[] zip, String name) throws Exception {
+        try (ZipInputStream entries = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = entries.getNextEntry(); entry != null; entry = entries.getNextEntry()) {
+                if (entry.getName().equals(name)) {
+                    return new String(entries.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new AssertionError("No " + name + " in the archive");
+    }
+
+    private interface TaskSetUp {
+        void setUp(IRunAndRenderTask task) throws Exception;
+    }
+
+    private String textOf(RowHandle row, int cell) {
+        CellHandle cellHandle = birtUtils.getRowCells(row).get(cell);
+        return ((TextItemHandle) cellHandle.getContent().get(0)).getContent();
+    }
+}
@@ -0,0 +1,68 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+import org.eclipse.birt.report.model.api.TextItemHandle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit test for DesignIndex and the grid traversal of BirtUtils.
+ */
+public class DesignIndexTest extends TestCase {
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    private ReportDesignHandle designHandle;
+
+    @Override
+    protected void setUp() throws Exception {
+        designHandle = birtUtils.getReportDesignFromRunnable(BirtEngineManager.getInstance().getReportEngine()
+                .openReportDesign(birtUtils.getReportFromClassPath("/example.rptdesign")));
+    }
+
+    public void testTypedLookup() {
+        DesignIndex index = new DesignIndex(designHandle);
+
+        assertEquals(2, index.size());
+        assertSame(birtUtils.getItemByName(designHandle, "mainGrid"), index.getGrid("mainGrid"));
+        assertNull(index.getText("mainGrid"));
+        assertNull(index.getGrid("missingGrid"));
+    }
+
+    public void testFollowsStructuralEdits() throws Exception {
+        DesignIndex index = new DesignIndex(designHandle);
+        GridHandle secondGrid = index.getGrid("secondGrid");
+
+        RowHandle row = birtUtils.createNewRow(designHandle);
+        TextItemHandle text = designHandle.getElementFactory().newTextItem("addedText");
+        birtUtils.addRowToGrid(secondGrid, row);
+        birtUtils.createCellWithTextToRow(designHandle, row, "cell");
+        birtUtils.getRowCells(row).get(0).getContent().add(text);
+        assertSame(text, index.getText("addedText"));
+
+        designHandle.getBody().drop(index.getGrid("mainGrid"));
+        assertNull(index.getGrid("mainGrid"));
+    }
+
+    public void testForEachCell() throws Exception {
+        GridHandle secondGrid = (GridHandle) birtUtils.getItemByName(designHandle, "secondGrid");
+        RowHandle row = birtUtils.createNewRow(designHandle);
+        birtUtils.createCellWithTextToRow(designHandle, row, "a");
+        birtUtils.createCellWithTextToRow(designHandle, row, "b");
+        birtUtils.addRowToGrid(secondGrid, row);
+
+        AtomicInteger cells = new AtomicInteger();
+        AtomicInteger lastRow = new AtomicInteger(-1);
+        birtUtils.forEachCell(secondGrid, (rowIndex, columnIndex, cell) -> {
+            cells.incrementAndGet();
+            lastRow.set(rowIndex);
+        });
+
+        int rows = birtUtils.getGridRows(secondGrid).size();
+        assertEquals(rows - 1, lastRow.get());
+        assertEquals(rows - 1 + 2, cells.get());
+    }
+}
@@ -0,0 +1,45 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit test for EngineWarmUp.
+ */
+public class EngineWarmUpTest extends TestCase {
+
+    public void testWarmsUpEverySupportedFormat() throws Exception {
+        EngineWarmUp warmUp = new EngineWarmUp();
+        assertFalse(warmUp.isReady());
+        assertTrue(warmUp.getResults().isEmpty());
+
+        // the engine is already running, so the hook runs right away
+        BirtEngineManager.getInstance().getReportEngine();
+        BirtEngineManager.getInstance().addWarmUpHook(warmUp);
+
+        Map<BirtUtils.OutputFormat, EngineWarmUp.FormatResult> results = warmUp.getResults();
+        assertTrue(warmUp.isReady());
+        assertEquals(BirtUtils.OutputFormat.values().length, results.size());
+        for (BirtUtils.OutputFormat format : new BirtUtils.OutputFormat[]{BirtUtils.OutputFormat.PDF, BirtUtils.OutputFormat.DOCX,
+                BirtUtils.OutputFormat.XLSX, BirtUtils.OutputFormat.HTML, BirtUtils.OutputFormat.ODT}) {
+            assertEquals(format.toString(), EngineWarmUp.Status.WARM, results.get(format).status());
+        }
+        // the plain runtime has no rtf emitter
+        assertEquals(EngineWarmUp.Status.UNSUPPORTED, results.get(BirtUtils.OutputFormat.RTF).status());
+    }
+
+    public void testHooksRunAgainAfterRestart() throws Exception {
+        BirtEngineManager manager = BirtEngineManager.getInstance();
+        AtomicInteger warmUps = new AtomicInteger();
+        manager.getReportEngine();
+        manager.addWarmUpHook(engine -> warmUps.incrementAndGet());
+        assertEquals(1, warmUps.get());
+
+        manager.shutdown();
+        manager.getReportEngine();
+
+        assertEquals(2, warmUps.get());
+    }
+}
@@ -0,0 +1,51 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for InMemoryRenderMetrics.
+ */
+public class InMemoryRenderMetricsTest extends TestCase {
+
+    public void testBucketsCoverTheirValues() {
+        int previous = -1;
+        for (long value = 0; value < 1_000_000; value += 1 + value / 7) {
+            int index = InMemoryRenderMetrics.Histogram.index(value);
+            long upperBound = InMemoryRenderMetrics.Histogram.upperBound(index);
+            assertTrue(index >= previous);
+            assertTrue(upperBound >= value);
+            assertTrue(upperBound - value <= value / 16);
+            previous = index;
+        }
+        assertTrue(InMemoryRenderMetrics.Histogram.index(Long.MAX_VALUE) < 64 << 4);
+    }
+
+    public void testPercentiles() {
+        InMemoryRenderMetrics metrics = new InMemoryRenderMetrics();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            metrics.recordPhase("/example.rptdesign", "pdf", RenderPhase.RUN, nanos);
+        }
+
+        InMemoryRenderMetrics.HistogramSnapshot run = metrics.getPhase("/example.rptdesign", "pdf", RenderPhase.RUN);
+        assertEquals(10_000, run.count());
+        assertEquals(1, run.min());
+        assertEquals(10_000, run.max());
+        assertEquals(5_000.5, run.mean(), 0.001);
+        assertEquals(5_000, run.p50(), 5_000 / 16);
+        assertEquals(9_500, run.p95(), 9_500 / 16);
+        assertEquals(9_900, run.p99(), 9_900 / 16);
+        assertNull(metrics.getPhase("/example.rptdesign", "docx", RenderPhase.RUN));
+    }
+
+    public void testPhaseTimerAndTemplateLevelMetrics() {
+        InMemoryRenderMetrics metrics = new InMemoryRenderMetrics();
+        try (PhaseTimer ignored = PhaseTimer.start(metrics, "/example.rptdesign", null, RenderPhase.DESIGN_PARSE)) {
+            metrics.recordDesignSize("/example.rptdesign", 3, 6);
+        }
+
+        assertEquals(1, metrics.getPhase("/example.rptdesign", null, RenderPhase.DESIGN_PARSE).count());
+        assertEquals(3, metrics.get("/example.rptdesign", null, InMemoryRenderMetrics.ROWS).max());
+        assertEquals(6, metrics.get("/example.rptdesign", null, InMemoryRenderMetrics.CELLS).max());
+        assertEquals(3, metrics.snapshot().size());
+    }
+}
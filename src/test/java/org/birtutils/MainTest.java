@@ -3,6 +3,13 @@ package org.birtutils;
 import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
 
 /**
  * Unit test for simple Main.
@@ -35,4 +42,67 @@ public class MainTest
     {
         assertTrue( true );
     }
+
+    public void testRunsManifest() throws Exception
+    {
+        Path directory = Files.createTempDirectory( "manifest" );
+        String manifest = "{\"template\": \"/example.rptdesign\", \"format\": \"HTML\", \"output\": \"out/1.html\","
+                + " \"parameters\": {\"parametrFirst\": \"manifest\"}, \"rows\": {\"secondGrid\": [[\"appended row\"]]}}\n"
+                + "\n"
+                + "{\"template\": \"/example.rptdesign\", \"format\": \"PDF\", \"output\": \"out/2.pdf\"}\n"
+                + "not json\n"
+                + "{\"template\": \"/missing.rptdesign\", \"format\": \"PDF\", \"output\": \"out/3.pdf\"}\n";
+        try
+        {
+            IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+            ManifestSummary summary = Main.runManifest( reportEngine, new ReportDesignCache( reportEngine, new BirtUtils(), 4 ),
+                    new StringReader( manifest ), directory, 2, 1, null );
+
+            assertEquals( 2, summary.getSucceeded() );
+            assertEquals( 2, summary.getFailed() );
+            assertTrue( summary.getFailures().get( 0 ).startsWith( "line 4:" ) );
+            assertTrue( summary.getFailures().get( 1 ).startsWith( "line 5:" ) );
+            assertTrue( summary.getOutputBytes() > 0 );
+            String html = Files.readString( directory.resolve( "out/1.html" ) );
+            assertTrue( html.contains( "manifest" ) );
+            assertTrue( html.contains( "appended row" ) );
+            assertTrue( Files.size( directory.resolve( "out/2.pdf" ) ) > 0 );
+        }
+        finally
+        {
+            try ( Stream<Path> paths = Files.walk( directory ) )
+            {
+                for ( Path path : paths.sorted( Comparator.reverseOrder() ).toList() )
+                {
+                    Files.delete( path );
+                }
+            }
+        }
+    }
+
+    public void testRenderExampleReportsMetrics() throws Exception
+    {
+        InMemoryRenderMetrics metrics = new InMemoryRenderMetrics();
+        Path directory = Files.createTempDirectory( "example" );
+        Path output = directory.resolve( "output.docx" );
+        try
+        {
+            Main.renderExample( metrics, output );
+
+            String template = "/example.rptdesign";
+            assertEquals( 1, metrics.getPhase( template, null, RenderPhase.CLASSPATH_LOAD ).count() );
+            assertEquals( 1, metrics.getPhase( template, null, RenderPhase.DESIGN_PARSE ).count() );
+            assertEquals( 1, metrics.getPhase( template, "docx", RenderPhase.DESIGN_MUTATION ).count() );
+            assertEquals( 1, metrics.getPhase( template, "docx", RenderPhase.RUN ).count() );
+            assertEquals( 1, metrics.getPhase( template, "docx", RenderPhase.TOTAL ).count() );
+            assertEquals( Files.size( output ),
+                    metrics.get( template, "docx", InMemoryRenderMetrics.OUTPUT_BYTES ).max() );
+            assertTrue( metrics.get( template, null, InMemoryRenderMetrics.ROWS ).max() > 0 );
+        }
+        finally
+        {
+            Files.deleteIfExists( output );
+            Files.delete( directory );
+        }
+    }
 }
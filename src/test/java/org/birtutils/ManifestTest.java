@@ -0,0 +1,49 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit test for Manifest.
+ */
+public class ManifestTest extends TestCase {
+
+    public void testParsesJob() throws Exception {
+        RenderJob job = Manifest.parseJob("{\"template\": \"/example.rptdesign\", \"format\": \"docx\", \"output\": \"out/1.docx\","
+                + " \"parameters\": {\"parametrFirst\": \"caf\\u00e9 \\\"1\\\"\", \"count\": 3},"
+                + " \"rows\": {\"secondGrid\": [[\"a\", 1.5], [\"b\", null]]}}", Path.of("/base"));
+
+        assertEquals("/example.rptdesign", job.reportPath());
+        assertEquals(BirtUtils.OutputFormat.DOCX, job.format());
+        assertEquals(Path.of("/base/out/1.docx"), job.output());
+        assertEquals(Map.of("parametrFirst", "café \"1\"", "count", 3L), job.parameters());
+
+        BirtUtils birtUtils = new BirtUtils();
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        ReportDesignHandle designHandle = birtUtils.getReportDesignFromRunnable(
+                reportEngine.openReportDesign(birtUtils.getReportFromClassPath("/example.rptdesign")));
+        GridHandle grid = (GridHandle) birtUtils.getItemByName(designHandle, "secondGrid");
+        int rows = grid.getRows().getCount();
+        job.designMutation().apply(designHandle);
+        assertEquals(rows + 2, grid.getRows().getCount());
+    }
+
+    public void testRejectsInvalidLines() {
+        for (String line : List.of("[]", "{\"template\": \"/a\"", "{\"template\": \"/a\", \"format\": \"PDF\"}",
+                "{\"template\": \"/a\", \"format\": \"gif\", \"output\": \"a.gif\"}",
+                "{\"template\": \"/a\", \"format\": \"PDF\", \"output\": \"a.pdf\", \"rows\": {\"g\": [1]}}")) {
+            try {
+                Manifest.parseJob(line, Path.of(""));
+                fail("Invalid line must be rejected: " + line);
+            } catch (IllegalArgumentException e) {
+                assertNotNull(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.data.engine.api.DataEngine;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IRunTask;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for MemoryBudget.
+ */
+public class MemoryBudgetTest extends TestCase {
+
+    private static final long MB = 1024 * 1024;
+
+    private static final String TEMPLATE = "/example.rptdesign";
+
+    public void testEstimateGrowsWithRowsAndLearnsFromOutput() {
+        MemoryBudget budget = new MemoryBudget(1024 * MB, null);
+        long small = budget.estimate(TEMPLATE, BirtUtils.OutputFormat.HTML, 10, false);
+        long large = budget.estimate(TEMPLATE, BirtUtils.OutputFormat.HTML, 100_000, false);
+        assertTrue(large > small);
+        assertTrue(budget.estimate(TEMPLATE, BirtUtils.OutputFormat.HTML, 10, true) > small);
+
+        budget.record(TEMPLATE, BirtUtils.OutputFormat.HTML, 100_000, 100_000 * 10_000L);
+        assertTrue(budget.estimate(TEMPLATE, BirtUtils.OutputFormat.HTML, 100_000, false) > large);
+        assertEquals(large, budget.estimate("/other.rptdesign", BirtUtils.OutputFormat.HTML, 100_000, false));
+    }
+
+    public void testWaitsForCapacityAndRejectsAfterMaxWait() throws Exception {
+        MemoryBudget probe = new MemoryBudget(1024 * MB, null);
+        long pdf = probe.estimate(TEMPLATE, BirtUtils.OutputFormat.PDF, 0, false);
+        MemoryBudget budget = new MemoryBudget(pdf + pdf / 2, Duration.ofMillis(200));
+
+        MemoryBudget.Permit first = budget.acquire(TEMPLATE, BirtUtils.OutputFormat.PDF, 0, false);
+        assertEquals(pdf, budget.getInFlightBytes());
+        try {
+            budget.acquire(TEMPLATE, BirtUtils.OutputFormat.PDF, 0, false);
+            fail("Render over the budget must be rejected after the maximum wait");
+        } catch (MemoryBudget.RejectedException e) {
+            assertTrue(e.getMessage().contains("not admitted"));
+        }
+
+        first.close();
+        first.close();
+        assertEquals(0, budget.getInFlightBytes());
+
+        MemoryBudget waitingBudget = new MemoryBudget(pdf + pdf / 2, null);
+        MemoryBudget.Permit held = waitingBudget.acquire(TEMPLATE, BirtUtils.OutputFormat.PDF, 0, false);
+        CompletableFuture<MemoryBudget.Permit> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return waitingBudget.acquire(TEMPLATE, BirtUtils.OutputFormat.PDF, 0, false);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertFalse(second.isDone());
+        assertEquals(1, waitingBudget.getWaiting());
+        held.close();
+        second.get(10, TimeUnit.SECONDS).close();
+        assertEquals(0, waitingBudget.getInFlightBytes());
+        assertEquals(0, budget.getWaiting());
+    }
+
+    public void testRejectsRenderLargerThanCapacity() throws Exception {
+        MemoryBudget budget = new MemoryBudget(MB, null);
+        try {
+            budget.acquire(TEMPLATE, BirtUtils.OutputFormat.XLSX, 1_000_000, false);
+            fail("Render larger than the capacity must be rejected");
+        } catch (MemoryBudget.RejectedException e) {
+            assertTrue(e.getMessage().contains("more than the budget"));
+        }
+    }
+
+    public void testPermitGrowsWithTheDesign() throws Exception {
+        MemoryBudget budget = new MemoryBudget(64 * MB, null);
+        try (MemoryBudget.Permit permit = budget.acquire(TEMPLATE, BirtUtils.OutputFormat.HTML, 10, false)) {
+            long admitted = budget.getInFlightBytes();
+            permit.grow(1000);
+            assertEquals(budget.estimate(TEMPLATE, BirtUtils.OutputFormat.HTML, 1000, false), permit.getBytes());
+            assertTrue(budget.getInFlightBytes() > admitted);
+            try {
+                permit.grow(1_000_000);
+                fail("Growth past the capacity must be rejected");
+            } catch (MemoryBudget.RejectedException e) {
+                assertTrue(e.getMessage().contains("grew to"));
+            }
+        }
+        assertEquals(0, budget.getInFlightBytes());
+    }
+
+    public void testPermitBoundsDataEngineBuffer() throws Exception {
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        IRunTask task = reportEngine.createRunTask(reportEngine.openReportDesign(new BirtUtils().getReportFromClassPath(TEMPLATE)));
+        MemoryBudget budget = new MemoryBudget(1024 * MB, null, 8 * MB);
+        try (MemoryBudget.Permit permit = budget.acquire(TEMPLATE, BirtUtils.OutputFormat.PDF, 100_000, false)) {
+            permit.configure(task);
+            assertEquals(8, task.getAppContext().get(DataEngine.MEMORY_BUFFER_SIZE));
+        } finally {
+            task.close();
+        }
+    }
+
+    public void testRendererReportsRejectedJob() throws Exception {
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        ReportDesignCache designCache = new ReportDesignCache(reportEngine, new BirtUtils(), 4);
+        try (AsyncRenderer renderer = new AsyncRenderer(reportEngine, designCache, null, RenderMetrics.NOOP, new MemoryBudget(MB, null))) {
+            RenderResult result = renderer.renderAsync(new RenderJob(TEMPLATE, Map.of(), BirtUtils.OutputFormat.PDF, null))
+                    .get(60, TimeUnit.SECONDS);
+
+            assertEquals(RenderResult.Status.REJECTED, result.status());
+            assertTrue(result.error() instanceof MemoryBudget.RejectedException);
+        }
+    }
+
+    public void testOutputPastTheBufferLimitIsNotSucceeded() throws Exception {
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        BirtUtils birtUtils = new BirtUtils();
+        ReportDesignCache designCache = new ReportDesignCache(reportEngine, birtUtils, 4);
+        // the estimate of the small design fits, the buffer of half the capacity does not hold the large text
+        MemoryBudget budget = new MemoryBudget(12 * MB, null);
+        try (AsyncRenderer renderer = new AsyncRenderer(reportEngine, designCache, null, RenderMetrics.NOOP, budget)) {
+            RenderResult result = renderer.renderAsync(new RenderJob(TEMPLATE, Map.of(), BirtUtils.OutputFormat.HTML, null,
+                    designHandle -> {
+                        GridHandle secondGrid = (GridHandle) birtUtils.getItemByName(designHandle, "secondGrid");
+                        RowHandle row = birtUtils.createNewRow(designHandle);
+                        birtUtils.createCellWithTextToRow(designHandle, row, "x".repeat(8 * (int) MB));
+                        birtUtils.addRowToGrid(secondGrid, row);
+                    })).get(120, TimeUnit.SECONDS);
+
+            assertEquals(RenderResult.Status.REJECTED, result.status());
+            assertNull(result.content());
+            assertTrue(result.error().getMessage().contains("exceeds"));
+        }
+        assertEquals(0, budget.getInFlightBytes());
+    }
+}
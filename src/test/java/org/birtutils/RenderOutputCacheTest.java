@@ -0,0 +1,155 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit test for RenderOutputCache.
+ */
+public class RenderOutputCacheTest extends TestCase {
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    private Path spillDirectory;
+
+    @Override
+    protected void setUp() throws Exception {
+        spillDirectory = Files.createTempDirectory("render-output-cache");
+    }
+
+    public void testKeyNormalizesParameters() {
+        RenderOutputCache.CacheKey first = RenderOutputCache.CacheKey.of("/example.rptdesign", "v1",
+                Map.of("parametrFirst", 1, "parametrSecond", "b"), BirtUtils.OutputFormat.PDF, null);
+        RenderOutputCache.CacheKey second = RenderOutputCache.CacheKey.of("/example.rptdesign", "v1",
+                Map.of("parametrSecond", "b", "parametrFirst", "1"), BirtUtils.OutputFormat.PDF, null);
+
+        assertEquals(first, second);
+    }
+
+    public void testRendersOncePerKey() throws Exception {
+        RenderOutputCache cache = new RenderOutputCache(null, 1024, Duration.ofMinutes(1), null, 0);
+
+        assertEquals("a", read(cache.getOrRender(key("a"), out -> render(out, "a"))));
+        assertEquals("a", read(cache.getOrRender(key("a"), out -> render(out, "a"))));
+
+        assertEquals(1, renders.get());
+        assertEquals(1, cache.getMemoryHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    public void testSpillsToDisk() throws Exception {
+        RenderOutputCache cache = new RenderOutputCache(null, 4, Duration.ofMinutes(1), spillDirectory, 1024);
+
+        cache.getOrRender(key("a"), out -> render(out, "aaa"));
+        cache.getOrRender(key("b"), out -> render(out, "bbb"));
+
+        assertEquals("aaa", read(cache.getOrRender(key("a"), out -> render(out, "other"))));
+        assertEquals(1, cache.getDiskHits());
+        assertEquals(3, cache.getMemoryBytes());
+        assertEquals(3, cache.getDiskBytes());
+
+        cache.clear();
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    public void testExpiresAfterTtl() throws Exception {
+        RenderOutputCache cache = new RenderOutputCache(null, 1024, Duration.ZERO, null, 0);
+
+        cache.getOrRender(key("a"), out -> render(out, "a"));
+        Thread.sleep(5);
+        cache.getOrRender(key("a"), out -> render(out, "a"));
+
+        assertEquals(2, renders.get());
+    }
+
+    public void testConcurrentRequestsRenderOnce() throws Exception {
+        RenderOutputCache cache = new RenderOutputCache(null, 1024, Duration.ofMinutes(1), null, 0);
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ByteBuffer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.getOrRender(key("a"), out -> {
+                    rendering.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    render(out, "a");
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(rendering.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ByteBuffer> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.getOrRender(key("a"), out -> render(out, "a"));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (cache.getCoalesced() == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertEquals("a", read(first.get(5, TimeUnit.SECONDS)));
+        assertEquals("a", read(second.get(5, TimeUnit.SECONDS)));
+        assertEquals(1, renders.get());
+    }
+
+    public void testFailedRenderIsNotCached() throws Exception {
+        IReportEngine reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        RenderOutputCache cache = new RenderOutputCache(new ReportDesignCache(reportEngine, new BirtUtils(), 4), 1024 * 1024,
+                Duration.ofMinutes(1), null, 0);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                cache.render(reportEngine, "/script-error.rptdesign", Map.of(), BirtUtils.OutputFormat.HTML, null);
+                fail("the script error must fail the render");
+            } catch (BirtException expected) {
+                assertTrue(expected.getMessage().contains("broken script"));
+            }
+        }
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getMemoryHits());
+    }
+
+    private RenderOutputCache.CacheKey key(String value) {
+        return RenderOutputCache.CacheKey.of("/example.rptdesign", "v1", Map.of("parametrFirst", value),
+                BirtUtils.OutputFormat.HTML, null);
+    }
+
+    private void render(OutputStream out, String content) {
+        renders.incrementAndGet();
+        try {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String read(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+
+/**
+ * Unit test for ReportDesignCache.
+ */
+public class ReportDesignCacheTest extends TestCase {
+
+    private static final String REPORT_PATH = "/example.rptdesign";
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    private ReportDesignCache cache;
+
+    @Override
+    protected void setUp() throws Exception {
+        cache = new ReportDesignCache(BirtEngineManager.getInstance().getReportEngine(), birtUtils, 4);
+    }
+
+    public void testParsesOncePerVersion() throws Exception {
+        cache.openReportDesign(REPORT_PATH);
+        cache.openReportDesign(REPORT_PATH);
+        cache.openReportDesign(REPORT_PATH);
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    public void testOpensTheRequestedVersion() throws Exception {
+        String contentHash = cache.getContentHash(REPORT_PATH);
+
+        assertNotNull(cache.openReportDesign(REPORT_PATH, contentHash));
+        assertNotNull(cache.openReportDesign(REPORT_PATH, contentHash));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        try {
+            cache.openReportDesign(REPORT_PATH, "stale");
+            fail("another version must not be opened");
+        } catch (BirtException expected) {
+            assertTrue(expected.getMessage().contains("stale"));
+        }
+    }
+
+    public void testCopiesAreIsolated() throws Exception {
+        ReportDesignHandle first = birtUtils.getReportDesignFromRunnable(cache.openReportDesign(REPORT_PATH));
+        GridHandle firstGrid = (GridHandle) birtUtils.getItemByName(first, "secondGrid");
+        int rowsBefore = birtUtils.getGridRows(firstGrid).size();
+
+        RowHandle newRow = birtUtils.createNewRow(first);
+        birtUtils.createCellWithTextToRow(first, newRow, "only in the first copy");
+        birtUtils.addRowToGrid(firstGrid, newRow);
+
+        IReportRunnable second = cache.openReportDesign(REPORT_PATH);
+        GridHandle secondGrid = (GridHandle) birtUtils.getItemByName(birtUtils.getReportDesignFromRunnable(second), "secondGrid");
+
+        assertEquals(rowsBefore + 1, birtUtils.getGridRows(firstGrid).size());
+        assertEquals(rowsBefore, birtUtils.getGridRows(secondGrid).size());
+    }
+
+    public void testEvict() throws Exception {
+        cache.openReportDesign(REPORT_PATH);
+        cache.evict(REPORT_PATH);
+        cache.openReportDesign(REPORT_PATH);
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getMisses());
+    }
+}
@@ -0,0 +1,113 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IRunTask;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Unit test for ReportDocumentPager.
+ */
+public class ReportDocumentPagerTest extends TestCase {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private static final int STALLED_ROW = 150;
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private IReportEngine reportEngine;
+
+    private Path document;
+
+    @Override
+    protected void setUp() throws Exception {
+        reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        document = Files.createTempFile("pager", ".rptdocument");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        executor.shutdownNow();
+        Files.deleteIfExists(document);
+    }
+
+    public void testRendersPagesWhileRunning() throws Exception {
+        ReportDesignHandle designHandle = birtUtils.getReportDesignFromRunnable(reportEngine
+                .openReportDesign(birtUtils.getReportFromClassPath("/example.rptdesign")));
+        birtUtils.bindTableToRows(designHandle, "pagedTable", List.of("name", "amount"));
+        IRunTask task = reportEngine.createRunTask(reportEngine.openReportDesign(designHandle));
+        task.setParameterValues(Map.of("parametrFirst", "a", "parametrSecond", "b"));
+        // the run stalls after a few pages of rows until the first page has been rendered
+        CountDownLatch release = new CountDownLatch(1);
+        birtUtils.setRows(task, "pagedTable", () -> IntStream.range(0, 300)
+                .peek(i -> {
+                    if (i == STALLED_ROW) {
+                        awaitUninterruptibly(release);
+                    }
+                })
+                .mapToObj(i -> List.<Object>of("row-" + i, i))
+                .iterator());
+
+        try (ReportDocumentPager pager = ReportDocumentPager.start(reportEngine, task, document, executor)) {
+            ByteArrayOutputStream firstPage = new ByteArrayOutputStream();
+            try {
+                // a timeout too long for a nanoTime deadline must not overflow
+                pager.renderPage(BirtUtils.OutputFormat.HTML, 1, firstPage, Duration.ofSeconds(Long.MAX_VALUE));
+                assertFalse(pager.isComplete());
+            } finally {
+                release.countDown();
+            }
+            assertTrue(pager.getAvailablePages() >= 1);
+            String html = firstPage.toString(StandardCharsets.UTF_8);
+            assertTrue(html.contains("row-0"));
+            assertFalse(html.contains("row-" + STALLED_ROW));
+            // a missing bookmark waits for the whole run, without a timeout
+            assertEquals(-1, pager.renderBookmark(BirtUtils.OutputFormat.HTML, "missing", new ByteArrayOutputStream(), null));
+            assertTrue(pager.isComplete());
+
+            long pages = pager.getCompletion().get(60, TimeUnit.SECONDS);
+            assertTrue(pages > 1);
+            assertEquals(pages, pager.getAvailablePages());
+
+            ByteArrayOutputStream lastPage = new ByteArrayOutputStream();
+            pager.renderPages(BirtUtils.OutputFormat.HTML, pages + "", lastPage, TIMEOUT);
+            assertTrue(lastPage.toString(StandardCharsets.UTF_8).contains("row-299"));
+            assertEquals(-1, pager.renderBookmark(BirtUtils.OutputFormat.HTML, "missing", new ByteArrayOutputStream(), TIMEOUT));
+        }
+
+        ReportDocumentPager reopened = new ReportDocumentPager(reportEngine, document);
+        assertTrue(reopened.isComplete());
+        assertTrue(reopened.getAvailablePages() > 1);
+        try {
+            reopened.renderPages(BirtUtils.OutputFormat.HTML, "first", new ByteArrayOutputStream(), TIMEOUT);
+            fail("Invalid page range must be rejected");
+        } catch (BirtException e) {
+            assertTrue(e.getMessage().contains("first"));
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
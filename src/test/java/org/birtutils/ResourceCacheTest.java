@@ -0,0 +1,111 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.report.model.api.DefaultResourceLocator;
+import org.eclipse.birt.report.model.api.IModuleOption;
+import org.eclipse.birt.report.model.api.IResourceLocator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Unit test for ResourceCache and CachingResourceLocator.
+ */
+public class ResourceCacheTest extends TestCase {
+
+    private Path directory;
+
+    @Override
+    protected void setUp() throws Exception {
+        directory = Files.createTempDirectory("resource-cache");
+    }
+
+    public void testWrappedUrlsReadOnce() throws Exception {
+        Path library = write("library.rptlibrary", "library");
+        write("logo.png", "logo");
+        ResourceCache cache = new ResourceCache(1024, null);
+
+        URL url = cache.wrap(library.toUri().toURL());
+        assertEquals("library", read(url));
+        Files.writeString(library, "changed");
+        assertEquals("library", read(url));
+        assertEquals("logo", read(new URL(url, "logo.png")));
+
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.size());
+    }
+
+    public void testChangedFilesAreReadAgain() throws Exception {
+        Path image = write("logo.png", "first");
+        ResourceCache cache = new ResourceCache(1024, Duration.ZERO);
+        URL url = cache.wrap(image.toUri().toURL());
+        assertEquals("first", read(url));
+
+        Files.writeString(image, "second version");
+        Files.setLastModifiedTime(image, FileTime.fromMillis(Files.getLastModifiedTime(image).toMillis() + 2000));
+
+        assertEquals("second version", read(url));
+        assertEquals(1, cache.getInvalidations());
+        assertEquals("second version".length(), cache.getBytes());
+    }
+
+    public void testBoundedBySize() throws Exception {
+        ResourceCache cache = new ResourceCache(10, null);
+        cache.read(write("a", "123456").toUri().toURL().toExternalForm());
+        cache.read(write("b", "123456").toUri().toURL().toExternalForm());
+        cache.read(write("c", "12345678901").toUri().toURL().toExternalForm());
+
+        assertEquals(1, cache.size());
+        assertEquals(6, cache.getBytes());
+    }
+
+    public void testLocatorFallsBackToClassPath() throws Exception {
+        ResourceCache cache = new ResourceCache(1024 * 1024, null);
+        CachingResourceLocator locator = new CachingResourceLocator(cache);
+
+        URL first = locator.findResource(null, "example.rptdesign", IResourceLocator.OTHERS);
+        URL second = locator.findResource(null, "example.rptdesign", IResourceLocator.OTHERS);
+        try (InputStream inputStream = second.openStream()) {
+            inputStream.readAllBytes();
+        }
+        try (InputStream inputStream = new BirtUtils().getReportFromClassPath("/example.rptdesign", cache)) {
+            assertTrue(inputStream.readAllBytes().length > 0);
+        }
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertNull(locator.findResource(null, "missing.rptlibrary", IResourceLocator.LIBRARY));
+    }
+
+    public void testLocatorIsBounded() throws Exception {
+        ResourceCache cache = new ResourceCache(1024 * 1024, null);
+        CachingResourceLocator locator = new CachingResourceLocator(new DefaultResourceLocator(), cache, 3);
+
+        locator.findResource(null, "example.rptdesign", IResourceLocator.OTHERS);
+        locator.findResource(null, "example.rptdesign", IResourceLocator.IMAGE);
+        locator.findResource(null, "example.rptdesign", IResourceLocator.OTHERS, Map.of(IModuleOption.RESOURCE_FOLDER_KEY, "a"));
+        locator.findResource(null, "example.rptdesign", IResourceLocator.OTHERS, Map.of(IModuleOption.RESOURCE_FOLDER_KEY, "b"));
+
+        // four locations, one per resource folder, of which the least recently used is dropped
+        assertEquals(3, locator.size());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private static String read(URL url) throws IOException {
+        try (InputStream inputStream = url.openStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
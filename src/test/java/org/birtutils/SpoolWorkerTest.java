@@ -0,0 +1,130 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for SpoolWorker.
+ */
+public class SpoolWorkerTest extends TestCase {
+
+    private static final String REPORT_PATH = "/example.rptdesign";
+
+    private IReportEngine reportEngine;
+
+    private ReportDesignCache designCache;
+
+    private Path spool;
+
+    @Override
+    protected void setUp() throws Exception {
+        reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        designCache = new ReportDesignCache(reportEngine, new BirtUtils(), 4);
+        spool = Files.createTempDirectory("spool");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try (Stream<Path> paths = Files.walk(spool)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    public void testWorkersSplitTheInbox() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            SpoolWorker.submit(spool, "job-" + i, new RenderJob(REPORT_PATH, Map.of("parametrFirst", "spool-" + i),
+                    BirtUtils.OutputFormat.HTML, null));
+        }
+        SpoolWorker.submit(spool, "broken", new RenderJob("/missing.rptdesign", Map.of(), BirtUtils.OutputFormat.HTML, null));
+
+        try (SpoolWorker first = worker("first"); SpoolWorker second = worker("second")) {
+            first.start();
+            second.start();
+            for (int i = 0; i < 6; i++) {
+                Properties status = awaitStatus("job-" + i);
+                assertEquals("SUCCEEDED", status.getProperty("status"));
+                assertTrue(Files.readString(Path.of(status.getProperty("output"))).contains("spool-" + i));
+            }
+            Properties broken = awaitStatus("broken");
+            assertEquals("FAILED", broken.getProperty("status"));
+            assertNotNull(broken.getProperty("error"));
+            assertTrue(Files.exists(spool.resolve(SpoolWorker.FAILED).resolve("broken.job")));
+        }
+        try (var claimed = Files.list(spool.resolve(SpoolWorker.CLAIMED))) {
+            assertEquals(0, claimed.count());
+        }
+    }
+
+    public void testReclaimsJobOfCrashedWorker() throws Exception {
+        SpoolWorker worker = worker("survivor");
+        SpoolWorker.submit(spool, "orphan", new RenderJob(REPORT_PATH, Map.of(), BirtUtils.OutputFormat.HTML, null));
+        // a worker claimed the job and died without finishing it
+        Path claimed = Files.move(spool.resolve(SpoolWorker.INBOX).resolve("orphan.job"),
+                spool.resolve(SpoolWorker.CLAIMED).resolve("orphan.job@crashed"));
+
+        assertEquals(0, worker.reclaimExpired());
+        Files.setLastModifiedTime(claimed, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        assertEquals(1, worker.drain());
+
+        Properties status = SpoolWorker.readStatus(spool, "orphan");
+        assertEquals("SUCCEEDED", status.getProperty("status"));
+        assertEquals("survivor", status.getProperty("worker"));
+        assertFalse(Files.exists(claimed));
+    }
+
+    public void testLostClaimLeavesTheOutputUntouched() throws Exception {
+        Path output = Files.createDirectories(spool.resolve("out")).resolve("report.html");
+        Files.writeString(output, "previous");
+        SpoolWorker.submit(spool, "stolen", new RenderJob(REPORT_PATH, Map.of(), BirtUtils.OutputFormat.HTML, output));
+        Path taken = spool.resolve(SpoolWorker.CLAIMED).resolve("stolen.job@other");
+        // while rendering, the lease expires and another worker claims the job
+        RenderMetrics takeOver = new RenderMetrics() {
+            @Override
+            public void recordOutputBytes(String template, String format, long bytes) {
+                try {
+                    Files.move(spool.resolve(SpoolWorker.CLAIMED).resolve("stolen.job@loser"), taken);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        SpoolWorker loser = new SpoolWorker(reportEngine, designCache, spool, "loser", 1, Duration.ofSeconds(10),
+                Duration.ofMillis(50), takeOver);
+
+        assertEquals(1, loser.drain());
+
+        assertEquals("previous", Files.readString(output));
+        try (Stream<Path> files = Files.list(output.getParent())) {
+            assertEquals(1, files.count());
+        }
+        assertTrue(Files.exists(taken));
+        assertNull(SpoolWorker.readStatus(spool, "stolen"));
+    }
+
+    private SpoolWorker worker(String id) throws Exception {
+        return new SpoolWorker(reportEngine, designCache, spool, id, 2, Duration.ofSeconds(10), Duration.ofMillis(50), RenderMetrics.NOOP);
+    }
+
+    private Properties awaitStatus(String id) throws Exception {
+        long deadline = System.currentTimeMillis() + 60_000;
+        Properties status;
+        while ((status = SpoolWorker.readStatus(spool, id)) == null) {
+            assertTrue("Job " + id + " did not finish", System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,180 @@
+package org.birtutils;
+
+import junit.framework.TestCase;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.IReportEngine;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.eclipse.birt.report.model.api.Expression;
+import org.eclipse.birt.report.model.api.ExpressionType;
+import org.eclipse.birt.report.model.api.GridHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.RowHandle;
+import org.eclipse.birt.report.model.api.ScalarParameterHandle;
+import org.eclipse.birt.report.model.api.elements.DesignChoiceConstants;
+import org.eclipse.birt.report.model.api.elements.structures.HideRule;
+import org.eclipse.birt.report.model.elements.interfaces.ITableRowModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Unit test for TabularExporter.
+ */
+public class TabularExporterTest extends TestCase {
+
+    private static final Map<String, String> PARAMETERS = Map.of("parametrFirst", "first, \"quoted\"", "parametrSecond", "second");
+
+    private final BirtUtils birtUtils = new BirtUtils();
+
+    private IReportEngine reportEngine;
+
+    private IReportRunnable runnable;
+
+    private ReportDesignHandle designHandle;
+
+    @Override
+    protected void setUp() throws Exception {
+        reportEngine = BirtEngineManager.getInstance().getReportEngine();
+        runnable = reportEngine.openReportDesign(birtUtils.getReportFromClassPath("/example.rptdesign"));
+        designHandle = birtUtils.getReportDesignFromRunnable(runnable);
+        GridHandle secondGrid = (GridHandle) birtUtils.getItemByName(designHandle, "secondGrid");
+        birtUtils.appendRows(secondGrid, IntStream.range(0, 5000)
+                .mapToObj(i -> List.of("row-" + i))
+                .collect(Collectors.toList()));
+    }
+
+    public void testExportsXlsxWithOneSheetPerGrid() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            TabularExporter exporter = new TabularExporter(100, executor);
+            assertTrue(exporter.isTabular(designHandle));
+            exporter.exportXlsx(designHandle, PARAMETERS, output);
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<String, String> parts = unzip(output.toByteArray());
+        String workbook = parts.get("xl/workbook.xml");
+        assertTrue(workbook.contains("name=\"mainGrid\""));
+        assertTrue(workbook.contains("name=\"secondGrid\""));
+        String mainGrid = parts.get("xl/worksheets/sheet1.xml");
+        assertTrue(mainGrid.contains("first, &quot;quoted&quot;") || mainGrid.contains("first, \"quoted\""));
+        assertTrue(mainGrid.contains(">second<"));
+        String secondGrid = parts.get("xl/worksheets/sheet2.xml");
+        assertTrue(secondGrid.contains("<row r=\"5001\""));
+        assertTrue(secondGrid.contains(">row-4999<"));
+    }
+
+    public void testExportsCsv() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new TabularExporter().exportCsv(designHandle, PARAMETERS, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n", -1);
+        assertEquals("In this GRID will be added 2 rows with 2 different parametrs", lines[0]);
+        assertEquals("\"first, \"\"quoted\"\"\"", lines[1]);
+        assertEquals("second", lines[2]);
+        assertEquals("", lines[3]);
+        assertEquals("row-4999", lines[lines.length - 2]);
+    }
+
+    public void testFallsBackForNonTabularDesigns() throws Exception {
+        birtUtils.bindTableToRows(designHandle, "boundTable", List.of("name"));
+        TabularExporter exporter = new TabularExporter();
+        assertFalse(exporter.isTabular(designHandle));
+        try {
+            exporter.exportCsv(designHandle, PARAMETERS, new ByteArrayOutputStream());
+            fail("Non tabular design must be rejected");
+        } catch (BirtException e) {
+            assertTrue(e.getMessage().contains("not purely tabular"));
+        }
+    }
+
+    public void testScriptsAndVisibilityRulesAreNotTabular() throws Exception {
+        TabularExporter exporter = new TabularExporter();
+        designHandle.setInitialize("var started = new Date();");
+        assertFalse(exporter.isTabular(designHandle));
+        designHandle.setInitialize(null);
+        assertTrue(exporter.isTabular(designHandle));
+
+        GridHandle mainGrid = (GridHandle) birtUtils.getItemByName(designHandle, "mainGrid");
+        mainGrid.setOnCreate("this.getStyle().color = 'red';");
+        assertFalse(exporter.isTabular(designHandle));
+        mainGrid.setOnCreate(null);
+
+        RowHandle row = (RowHandle) mainGrid.getRows().get(0);
+        HideRule rule = new HideRule();
+        rule.setExpression("params[\"parametrFirst\"].value == null");
+        row.getPropertyHandle(ITableRowModel.VISIBILITY_PROP).addItem(rule);
+        assertFalse(exporter.isTabular(designHandle));
+    }
+
+    public void testResolvesAndValidatesParameters() throws Exception {
+        ScalarParameterHandle first = (ScalarParameterHandle) designHandle.findParameter("parametrFirst");
+        ScalarParameterHandle second = (ScalarParameterHandle) designHandle.findParameter("parametrSecond");
+        second.setDefaultValueList(List.of(new Expression("fallback", ExpressionType.CONSTANT)));
+        TabularExporter exporter = new TabularExporter();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exporter.exportCsv(designHandle, Map.of("parametrFirst", "given"), output);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n", -1);
+        assertEquals("given", lines[1]);
+        assertEquals("fallback", lines[2]);
+
+        first.setDataType(DesignChoiceConstants.PARAM_TYPE_INTEGER);
+        try {
+            exporter.exportCsv(designHandle, Map.of("parametrFirst", "many"), new ByteArrayOutputStream());
+            fail("Value which is not an integer must be rejected");
+        } catch (BirtException e) {
+            assertTrue(e.getMessage().contains("parametrFirst"));
+        }
+
+        first.setIsRequired(true);
+        first.setDefaultValueList(null);
+        try {
+            exporter.exportCsv(designHandle, Map.of(), new ByteArrayOutputStream());
+            fail("Missing required parameter must be rejected");
+        } catch (BirtException e) {
+            assertTrue(e.getMessage().contains("Required parameter parametrFirst"));
+        }
+
+        second.setDefaultValueList(List.of(new Expression("new Date()", ExpressionType.JAVASCRIPT)));
+        assertFalse(exporter.isTabular(designHandle));
+    }
+
+    public void testRenderWithFastPath() throws Exception {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        birtUtils.renderCsv(runnable, PARAMETERS, csv);
+        assertTrue(csv.toString(StandardCharsets.UTF_8).contains("row-4999"));
+
+        ByteArrayOutputStream xlsx = new ByteArrayOutputStream();
+        assertTrue(birtUtils.renderWithFastPath(reportEngine, runnable, PARAMETERS, BirtUtils.OutputFormat.XLSX, xlsx));
+        assertTrue(unzip(xlsx.toByteArray()).get("xl/worksheets/sheet2.xml").contains(">row-4999<"));
+
+        ByteArrayOutputStream html = new ByteArrayOutputStream();
+        assertFalse(birtUtils.renderWithFastPath(reportEngine, runnable, PARAMETERS, BirtUtils.OutputFormat.HTML, html));
+        assertTrue(html.toString(StandardCharsets.UTF_8).contains("row-4999"));
+    }
+
+    private static Map<String, String> unzip(byte[] content) throws IOException {
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(content))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return parts;
+    }
+}